@@ -0,0 +1,58 @@
+package com.dooji.unslab.benchmark;
+
+import com.dooji.unslab.SlabResolver;
+import com.dooji.unslab.fixture.SyntheticRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class MappingResolutionBenchmark {
+    @Param({"50", "400"})
+    public int namespaces;
+
+    @Param({"500", "10000"})
+    public int slabs;
+
+    private SyntheticRegistry registry;
+    private SlabResolver<String> resolver;
+
+    @Setup
+    public void setup() {
+        registry = SyntheticRegistry.generate(namespaces, slabs, 42L);
+        resolver = registry.buildResolver();
+    }
+
+    @Benchmark
+    public String[] initializeSerial() {
+        SlabResolver<String> freshResolver = registry.buildResolver();
+        List<SyntheticRegistry.Entry> registrySlabs = registry.slabs();
+        String[] fullBlocks = new String[registrySlabs.size()];
+
+        Arrays.setAll(fullBlocks, i -> freshResolver.resolve(registrySlabs.get(i).namespace(), registrySlabs.get(i).path()));
+        return fullBlocks;
+    }
+
+    @Benchmark
+    public String[] initializeParallel() {
+        SlabResolver<String> freshResolver = registry.buildResolver();
+        List<SyntheticRegistry.Entry> registrySlabs = registry.slabs();
+        String[] fullBlocks = new String[registrySlabs.size()];
+
+        Arrays.parallelSetAll(fullBlocks, i -> freshResolver.resolve(registrySlabs.get(i).namespace(), registrySlabs.get(i).path()));
+        return fullBlocks;
+    }
+
+    @Benchmark
+    public void normalizedSearch(Blackhole blackhole) {
+        for (SyntheticRegistry.Entry slab : registry.pluralizedSlabs()) {
+            blackhole.consume(resolver.resolve(slab.namespace(), slab.path()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dooji.unslab.benchmark;
+
+import com.dooji.unslab.SlabResolver;
+import com.dooji.unslab.UnslabRecipes;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@State(Scope.Benchmark)
+public class RecipeInjectionBenchmark {
+    private static final int DATAPACK_RECIPES = 1500;
+
+    @Param({"500", "10000"})
+    public int slabs;
+
+    private final List<Block[]> vanillaPairs = new ArrayList<>();
+    private final Map<Identifier, RecipeEntry<?>> datapackRecipes = new LinkedHashMap<>();
+    private List<RecipeEntry<ShapedRecipe>> generatedRecipes;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        SlabResolver<Block> resolver = new SlabResolver<>();
+        for (Block block : Registries.BLOCK) {
+            Identifier blockId = Registries.BLOCK.getId(block);
+            if (!blockId.getPath().equals("air")) {
+                resolver.add(blockId.getNamespace(), blockId.getPath(), block);
+            }
+        }
+
+        for (Block block : Registries.BLOCK) {
+            if (block instanceof SlabBlock) {
+                Identifier slabId = Registries.BLOCK.getId(block);
+                Block fullBlock = resolver.resolve(slabId.getNamespace(), slabId.getPath());
+
+                if (fullBlock != null) {
+                    vanillaPairs.add(new Block[]{block, fullBlock});
+                }
+            }
+        }
+
+        generatedRecipes = buildRecipes();
+
+        for (int i = 0; i < DATAPACK_RECIPES; i++) {
+            RecipeEntry<ShapedRecipe> template = generatedRecipes.get(i % generatedRecipes.size());
+            Identifier recipeId = Identifier.of("minecraft", "benchmark/recipe_" + i);
+            datapackRecipes.put(recipeId, new RecipeEntry<>(recipeId, template.value()));
+        }
+    }
+
+    @Benchmark
+    public List<RecipeEntry<ShapedRecipe>> buildRecipes() {
+        List<RecipeEntry<ShapedRecipe>> recipes = new ArrayList<>(slabs);
+
+        for (int i = 0; i < slabs; i++) {
+            Block[] pair = vanillaPairs.get(i % vanillaPairs.size());
+            Identifier recipeId = Identifier.of("unslab", "crafting/benchmark_" + i);
+            recipes.add(new RecipeEntry<>(recipeId, UnslabRecipes.createCraftingRecipe(List.of(pair[0]), pair[1])));
+        }
+
+        return recipes;
+    }
+
+    @Benchmark
+    public UnslabRecipes.InjectedRecipes injectCustomRecipes() {
+        return UnslabRecipes.inject(datapackRecipes, Set.of(), generatedRecipes);
+    }
+}
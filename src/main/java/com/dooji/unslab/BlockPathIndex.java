@@ -0,0 +1,56 @@
+package com.dooji.unslab;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BlockPathIndex<T> {
+    private static final String PRIORITY_NAMESPACE = "minecraft";
+
+    private final Map<String, List<Entry<T>>> entriesByPath = new HashMap<>();
+
+    public void add(String namespace, String path, T value) {
+        List<Entry<T>> candidates = entriesByPath.computeIfAbsent(path, key -> new ArrayList<>(1));
+
+        int index = 0;
+        while (index < candidates.size() && compareNamespaces(candidates.get(index).namespace(), namespace) <= 0) {
+            index++;
+        }
+
+        candidates.add(index, new Entry<>(namespace, value));
+    }
+
+    public T find(String path, String preferredNamespace) {
+        List<Entry<T>> candidates = entriesByPath.get(path);
+        if (candidates == null) {
+            return null;
+        }
+
+        for (Entry<T> candidate : candidates) {
+            if (candidate.namespace().equals(preferredNamespace)) {
+                return candidate.value();
+            }
+        }
+
+        return candidates.get(0).value();
+    }
+
+    public int size() {
+        return entriesByPath.size();
+    }
+
+    private static int compareNamespaces(String first, String second) {
+        boolean firstPriority = PRIORITY_NAMESPACE.equals(first);
+        boolean secondPriority = PRIORITY_NAMESPACE.equals(second);
+
+        if (firstPriority != secondPriority) {
+            return firstPriority ? -1 : 1;
+        }
+
+        return first.compareTo(second);
+    }
+
+    private record Entry<T>(String namespace, T value) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.dooji.unslab;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.block.WallBlock;
+
+public enum BlockShape {
+    SLAB("_slab", "", 1, "S", "S"),
+    STAIRS("_stairs", "_from_stairs", 3, "SS", "SS"),
+    WALL("_wall", "_from_wall", 1, "S");
+
+    private final String suffix;
+    private final String recipeSuffix;
+    private final int resultCount;
+    private final String[] pattern;
+
+    BlockShape(String suffix, String recipeSuffix, int resultCount, String... pattern) {
+        this.suffix = suffix;
+        this.recipeSuffix = recipeSuffix;
+        this.resultCount = resultCount;
+        this.pattern = pattern;
+    }
+
+    public static BlockShape of(Block block) {
+        BlockShape shape;
+        if (block instanceof SlabBlock) {
+            shape = SLAB;
+        } else if (block instanceof StairsBlock) {
+            shape = STAIRS;
+        } else if (block instanceof WallBlock) {
+            shape = WALL;
+        } else {
+            return null;
+        }
+
+        return UnslabConfig.getShapes().contains(shape) ? shape : null;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public String getRecipeSuffix() {
+        return recipeSuffix;
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public String[] getPattern() {
+        return pattern.clone();
+    }
+}
@@ -0,0 +1,234 @@
+package com.dooji.unslab;
+
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+public class CustomMappingRules {
+    public static final String REGEX_PREFIX = "regex:";
+    public static final CustomMappingRules EMPTY = compile(Map.of(), Map.of());
+
+    private static final String GLOB_CAPTURE = "([a-z0-9_./-]*)";
+
+    private final Map<Identifier, Identifier> exactMappings;
+    private final Pattern combinedPattern;
+    private final Pattern[] rulePatterns;
+    private final int[] ruleGroups;
+    private final int[] captureCounts;
+    private final String[] targets;
+
+    private CustomMappingRules(Map<Identifier, Identifier> exactMappings, Pattern combinedPattern, Pattern[] rulePatterns, int[] ruleGroups, int[] captureCounts, String[] targets) {
+        this.exactMappings = exactMappings;
+        this.combinedPattern = combinedPattern;
+        this.rulePatterns = rulePatterns;
+        this.ruleGroups = ruleGroups;
+        this.captureCounts = captureCounts;
+        this.targets = targets;
+    }
+
+    public static boolean isPattern(String key) {
+        return key.startsWith(REGEX_PREFIX) || key.indexOf('*') >= 0;
+    }
+
+    public static CustomMappingRules compile(Map<Identifier, String> exactMappings, Map<String, String> patternMappings) {
+        Map<Identifier, Identifier> exact = new HashMap<>(exactMappings.size() * 2);
+        exactMappings.forEach((slabId, fullBlockId) -> {
+            Identifier parsedId = Identifier.tryParse(fullBlockId);
+            if (parsedId != null) {
+                exact.put(slabId, parsedId);
+            }
+        });
+
+        // Every rule becomes one alternative of a single pattern, so a slab is matched against all rules in one pass.
+        // Alternatives are tried left to right, which keeps the file order as the rule priority.
+        StringBuilder combined = new StringBuilder();
+        List<Pattern> rulePatterns = new ArrayList<>();
+        List<Integer> ruleGroups = new ArrayList<>();
+        List<Integer> captureCounts = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+        int nextGroup = 1;
+
+        for (Map.Entry<String, String> rule : patternMappings.entrySet()) {
+            String regex;
+            String target;
+
+            if (rule.getKey().startsWith(REGEX_PREFIX)) {
+                regex = rule.getKey().substring(REGEX_PREFIX.length());
+                target = rule.getValue();
+            } else {
+                regex = globToRegex(rule.getKey());
+                target = globTargetToReplacement(rule.getValue());
+            }
+
+            // Group numbers and names are shared across the combined pattern, so a rule that refers to its own groups would break or misread the others
+            String unsupported = findUnsupportedConstruct(regex);
+            if (unsupported != null) {
+                Unslab.LOGGER.error("[Unslab] Ignoring custom mapping rule '{}': {} are not supported", rule.getKey(), unsupported);
+                continue;
+            }
+
+            Pattern rulePattern;
+            try {
+                rulePattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                Unslab.LOGGER.error("[Unslab] Ignoring invalid custom mapping rule '{}': {}", rule.getKey(), e.getDescription());
+                continue;
+            }
+
+            int captureCount = rulePattern.matcher("").groupCount();
+
+            if (!combined.isEmpty()) {
+                combined.append('|');
+            }
+
+            combined.append('(').append(regex).append(')');
+            rulePatterns.add(rulePattern);
+            ruleGroups.add(nextGroup);
+            captureCounts.add(captureCount);
+            targets.add(target);
+            nextGroup += captureCount + 1;
+        }
+
+        Pattern combinedPattern = null;
+        if (!targets.isEmpty()) {
+            try {
+                combinedPattern = Pattern.compile(combined.toString());
+            } catch (PatternSyntaxException e) {
+                Unslab.LOGGER.warn("[Unslab] Could not combine custom mapping rules, matching them one by one instead: {}", e.getDescription());
+            }
+        }
+
+        return new CustomMappingRules(Map.copyOf(exact), combinedPattern, rulePatterns.toArray(new Pattern[0]),
+                ruleGroups.stream().mapToInt(Integer::intValue).toArray(),
+                captureCounts.stream().mapToInt(Integer::intValue).toArray(),
+                targets.toArray(new String[0]));
+    }
+
+    public Identifier resolve(Identifier slabId) {
+        Identifier exactId = exactMappings.get(slabId);
+        if (exactId != null || targets.length == 0) {
+            return exactId;
+        }
+
+        if (combinedPattern == null) {
+            return resolveEach(slabId.toString());
+        }
+
+        Matcher matcher = combinedPattern.matcher(slabId.toString());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        for (int rule = 0; rule < ruleGroups.length; rule++) {
+            if (matcher.start(ruleGroups[rule]) >= 0) {
+                return Identifier.tryParse(substitute(targets[rule], matcher, ruleGroups[rule], captureCounts[rule]));
+            }
+        }
+
+        return null;
+    }
+
+    private Identifier resolveEach(String slabId) {
+        for (int rule = 0; rule < rulePatterns.length; rule++) {
+            Matcher matcher = rulePatterns[rule].matcher(slabId);
+            if (matcher.matches()) {
+                return Identifier.tryParse(substitute(targets[rule], matcher, 0, captureCounts[rule]));
+            }
+        }
+
+        return null;
+    }
+
+    public int getRuleCount() {
+        return targets.length;
+    }
+
+    private static String substitute(String target, Matcher matcher, int ruleGroup, int captureCount) {
+        StringBuilder result = new StringBuilder(target.length() + 16);
+
+        for (int i = 0; i < target.length(); i++) {
+            char character = target.charAt(i);
+            if (character != '$' || i + 1 >= target.length() || !Character.isDigit(target.charAt(i + 1))) {
+                result.append(character);
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < target.length() && Character.isDigit(target.charAt(end))) {
+                end++;
+            }
+
+            int capture = Integer.parseInt(target.substring(i + 1, end));
+            if (capture >= 1 && capture <= captureCount) {
+                String value = matcher.group(ruleGroup + capture);
+                result.append(value != null ? value : "");
+            }
+
+            i = end - 1;
+        }
+
+        return result.toString();
+    }
+
+    private static String findUnsupportedConstruct(String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            char character = regex.charAt(i);
+            char next = regex.charAt(i + 1);
+
+            if (character == '\\') {
+                if (Character.isDigit(next) || next == 'k') {
+                    return "backreferences";
+                }
+
+                i++;
+            } else if (character == '(' && next == '?' && i + 3 < regex.length() && regex.charAt(i + 2) == '<' && Character.isLetter(regex.charAt(i + 3))) {
+                return "named groups";
+            }
+        }
+
+        return null;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int star;
+
+        while ((star = glob.indexOf('*', start)) >= 0) {
+            if (star > start) {
+                regex.append(Pattern.quote(glob.substring(start, star)));
+            }
+
+            regex.append(GLOB_CAPTURE);
+            start = star + 1;
+        }
+
+        if (start < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(start)));
+        }
+
+        return regex.toString();
+    }
+
+    private static String globTargetToReplacement(String target) {
+        StringBuilder replacement = new StringBuilder(target.length() + 4);
+        int capture = 1;
+
+        for (int i = 0; i < target.length(); i++) {
+            char character = target.charAt(i);
+            if (character == '*') {
+                replacement.append('$').append(capture++);
+            } else {
+                replacement.append(character);
+            }
+        }
+
+        return replacement.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dooji.unslab;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.ShapelessRecipe;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RecipeConflictIndex {
+    private final Map<Item, Identifier> recipesBySlabItem = new HashMap<>();
+    private final Map<TagKey<Item>, Identifier> recipesBySlabTag = new HashMap<>();
+    private final Map<Item, Map<TagKey<Item>, Identifier>> recipesByItemAndTag = new HashMap<>();
+    private final Set<TagKey<Item>> uncheckedTags = new HashSet<>();
+
+    public static RecipeConflictIndex of(Collection<RecipeEntry<?>> recipes) {
+        RecipeConflictIndex index = new RecipeConflictIndex();
+
+        for (RecipeEntry<?> recipe : recipes) {
+            if (!UnslabRecipes.isGeneratedRecipe(recipe)) {
+                index.add(recipe);
+            }
+        }
+
+        return index;
+    }
+
+    public Identifier findConflict(RecipeEntry<ShapedRecipe> recipe) {
+        if (isEmpty() || !SlabRecipeLookup.isSlabPattern(recipe.value())) {
+            return null;
+        }
+
+        for (ItemStack slabStack : recipe.value().getIngredients().get(0).getMatchingStacks()) {
+            Identifier conflictingId = findConflict(slabStack.getItem());
+
+            if (conflictingId != null) {
+                return conflictingId;
+            }
+        }
+
+        return null;
+    }
+
+    // Tags that were not bound while recipes were applied, so no slab can be matched against them
+    public Set<TagKey<Item>> getUncheckedTags() {
+        return uncheckedTags;
+    }
+
+    private boolean isEmpty() {
+        return recipesBySlabItem.isEmpty() && recipesBySlabTag.isEmpty() && recipesByItemAndTag.isEmpty();
+    }
+
+    private Identifier findConflict(Item slab) {
+        Identifier conflictingId = recipesBySlabItem.get(slab);
+        if (conflictingId != null) {
+            return conflictingId;
+        }
+
+        // Looks up each of the slab's own tags, so the cost depends on how many tags the slab has, not on how many recipes use tags.
+        // Item tags are not bound yet during the first apply after startup, so on a cold start this finds nothing and only
+        // the unchecked tags get logged; later reloads see the tags bound by the previous one.
+        Map<TagKey<Item>, Identifier> recipesByPairedTag = recipesByItemAndTag.getOrDefault(slab, Map.of());
+        Iterator<TagKey<Item>> slabTags = Registries.ITEM.getEntry(slab).streamTags().iterator();
+
+        while (slabTags.hasNext()) {
+            TagKey<Item> tag = slabTags.next();
+            Identifier tagRecipeId = recipesBySlabTag.get(tag);
+            if (tagRecipeId == null) {
+                tagRecipeId = recipesByPairedTag.get(tag);
+            }
+
+            if (tagRecipeId != null) {
+                return tagRecipeId;
+            }
+        }
+
+        return null;
+    }
+
+    private void add(RecipeEntry<?> entry) {
+        // Only recipes that accept the same item twice in a vertical pair can shadow a generated one
+        List<Ingredient> ingredients = switch (entry.value()) {
+            case ShapedRecipe shaped when shaped.getWidth() == 1 && shaped.getHeight() == 2 -> shaped.getIngredients();
+            case ShapelessRecipe shapeless when shapeless.getIngredients().size() == 2 -> shapeless.getIngredients();
+            default -> null;
+        };
+
+        if (ingredients == null) {
+            return;
+        }
+
+        IngredientEntries first = IngredientEntries.of(ingredients.get(0));
+        IngredientEntries second = IngredientEntries.of(ingredients.get(1));
+
+        for (Item item : second.items()) {
+            if (first.items().contains(item)) {
+                recipesBySlabItem.putIfAbsent(item, entry.id());
+            }
+        }
+
+        for (TagKey<Item> tag : second.tags()) {
+            if (first.tags().contains(tag)) {
+                recipesBySlabTag.putIfAbsent(tag, entry.id());
+                trackTag(tag);
+            }
+        }
+
+        addItemAndTag(first.items(), second.tags(), entry.id());
+        addItemAndTag(second.items(), first.tags(), entry.id());
+    }
+
+    private void addItemAndTag(Set<Item> items, Set<TagKey<Item>> tags, Identifier recipeId) {
+        for (Item item : items) {
+            for (TagKey<Item> tag : tags) {
+                recipesByItemAndTag.computeIfAbsent(item, ignored -> new HashMap<>()).putIfAbsent(tag, recipeId);
+                trackTag(tag);
+            }
+        }
+    }
+
+    private void trackTag(TagKey<Item> tag) {
+        if (Registries.ITEM.getEntryList(tag).isEmpty()) {
+            uncheckedTags.add(tag);
+        }
+    }
+
+    // Entries are read directly because getMatchingStacks() caches its result,
+    // and tags are not bound yet while recipes are being applied
+    private record IngredientEntries(Set<Item> items, Set<TagKey<Item>> tags) {
+        private static IngredientEntries of(Ingredient ingredient) {
+            Set<Item> items = new HashSet<>();
+            Set<TagKey<Item>> tags = new HashSet<>();
+
+            for (Ingredient.Entry entry : ingredient.entries) {
+                switch (entry) {
+                    case Ingredient.StackEntry stackEntry -> items.add(stackEntry.stack().getItem());
+                    case Ingredient.TagEntry tagEntry -> tags.add(tagEntry.tag());
+                    default -> {
+                    }
+                }
+            }
+
+            return new IngredientEntries(items, tags);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dooji.unslab;
+
+import com.dooji.unslab.stats.ResolutionPhase;
+import com.dooji.unslab.stats.UnslabStats;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// The resolution pass behind UnslabMapping, kept free of the block registry so tests can run it on plain values
+public class ShapedBlockResolution<T> {
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final SlabResolver<T> resolver;
+    private final Function<T, Identifier> idLookup;
+    private final Function<Identifier, T> valueLookup;
+    private final Function<T, String> shapeSuffixLookup;
+    private final Function<Identifier, Identifier> customMappings;
+
+    public ShapedBlockResolution(SlabResolver<T> resolver, Function<T, Identifier> idLookup, Function<Identifier, T> valueLookup,
+                                 Function<T, String> shapeSuffixLookup, Function<Identifier, Identifier> customMappings) {
+        this.resolver = resolver;
+        this.idLookup = idLookup;
+        this.valueLookup = valueLookup;
+        this.shapeSuffixLookup = shapeSuffixLookup;
+        this.customMappings = customMappings;
+    }
+
+    public static boolean shouldResolveInParallel(UnslabConfig.ResolutionMode mode, int shapedCount) {
+        return switch (mode) {
+            case SERIAL -> false;
+            case PARALLEL -> true;
+            case AUTO -> shapedCount >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+        };
+    }
+
+    public Result<T> resolveAll(List<T> shapedValues, UnslabConfig.ResolutionMode mode) {
+        Object[] fullValues = new Object[shapedValues.size()];
+        if (shouldResolveInParallel(mode, shapedValues.size())) {
+            Arrays.parallelSetAll(fullValues, i -> resolve(shapedValues.get(i)));
+        } else {
+            Arrays.setAll(fullValues, i -> resolve(shapedValues.get(i)));
+        }
+
+        // Merged in registry order either way, so both branches produce the same map and pending list
+        Map<T, T> mappings = new LinkedHashMap<>();
+        List<T> unresolved = new ArrayList<>();
+
+        for (int i = 0; i < fullValues.length; i++) {
+            @SuppressWarnings("unchecked")
+            T fullValue = (T) fullValues[i];
+
+            if (fullValue != null) {
+                mappings.put(shapedValues.get(i), fullValue);
+            } else {
+                unresolved.add(shapedValues.get(i));
+            }
+        }
+
+        return new Result<>(mappings, unresolved);
+    }
+
+    public T resolve(T shapedValue) {
+        Identifier shapedId = idLookup.apply(shapedValue);
+
+        T fullValue = getCustomMapping(shapedId);
+        if (fullValue != null) {
+            return fullValue;
+        }
+
+        fullValue = resolver.resolve(shapedId.getNamespace(), shapedId.getPath(), shapeSuffixLookup.apply(shapedValue));
+
+        return isValid(fullValue) ? fullValue : null;
+    }
+
+    public boolean isValid(T value) {
+        return value != null && !idLookup.apply(value).getPath().equals("air");
+    }
+
+    private T getCustomMapping(Identifier shapedId) {
+        boolean timed = UnslabStats.isPhaseTrackingEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        Identifier customFullId = customMappings.apply(shapedId);
+        T fullValue = null;
+
+        if (customFullId != null) {
+            T customValue = valueLookup.apply(customFullId);
+            if (isValid(customValue)) {
+                fullValue = customValue;
+            }
+        }
+
+        if (timed) {
+            UnslabStats.recordPhase(ResolutionPhase.CUSTOM, System.nanoTime() - start, customFullId != null ? 2 : 1, fullValue != null);
+        }
+
+        return fullValue;
+    }
+
+    public record Result<T>(Map<T, T> mappings, List<T> unresolved) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.dooji.unslab;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.CraftingResultInventory;
+import net.minecraft.inventory.RecipeInputInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.world.World;
+
+import java.util.function.Predicate;
+
+public class SlabBulkCrafting {
+    public static boolean tryCraftAll(PlayerEntity player, RecipeInputInventory input, CraftingResultInventory result, Predicate<ItemStack> inserter) {
+        World world = player.getWorld();
+        if (world.isClient) {
+            return false;
+        }
+
+        SlabRecipeLookup lookup = ((UnslabRecipeManager) world.getRecipeManager()).unslab$getSlabRecipeLookup();
+        RecipeEntry<ShapedRecipe> recipe = lookup.match(input.createRecipeInput());
+        if (recipe == null) {
+            return false;
+        }
+
+        ItemStack recipeResult = recipe.value().getResult(world.getRegistryManager());
+        if (recipeResult.getCount() != 1 || !ItemStack.areItemsAndComponentsEqual(result.getStack(0), recipeResult)) {
+            return false;
+        }
+
+        int firstSlot = -1;
+        int secondSlot = -1;
+        for (int slot = 0; slot < input.size(); slot++) {
+            if (input.getStack(slot).isEmpty()) {
+                continue;
+            }
+
+            if (firstSlot == -1) {
+                firstSlot = slot;
+            } else {
+                secondSlot = slot;
+            }
+        }
+
+        int crafts = Math.min(input.getStack(firstSlot).getCount(), input.getStack(secondSlot).getCount());
+        ItemStack output = recipeResult.copyWithCount(crafts);
+        inserter.test(output);
+
+        int crafted = crafts - output.getCount();
+        if (crafted <= 0) {
+            return true;
+        }
+
+        // Same side effects as taking the result once per craft: stats, recipe unlock and input consumption
+        recipeResult.copyWithCount(crafted).onCraftByPlayer(world, player, crafted);
+        result.unlockLastRecipe(player, input.getHeldStacks());
+
+        input.removeStack(firstSlot, crafted);
+        input.removeStack(secondSlot, crafted);
+
+        return true;
+    }
+}
@@ -0,0 +1,300 @@
+package com.dooji.unslab;
+
+import com.dooji.unslab.mixin.ArrayPaletteAccessor;
+import com.dooji.unslab.mixin.BiMapPaletteAccessor;
+import com.dooji.unslab.mixin.PalettedContainerAccessor;
+import com.dooji.unslab.mixin.SingularPaletteAccessor;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.enums.SlabType;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.collection.Int2ObjectBiMap;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.EmptyBlockView;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ArrayPalette;
+import net.minecraft.world.chunk.BiMapPalette;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.Palette;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.SingularPalette;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.poi.PointOfInterestTypes;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+public class SlabConversionJob {
+    public static final int MAX_CHUNKS = 4096;
+
+    private static final long TICK_BUDGET_NANOS = 5_000_000L;
+    private static final Deque<SlabConversionJob> jobs = new ArrayDeque<>();
+
+    private final ServerWorld world;
+    private final BlockBox region;
+    private final ServerCommandSource source;
+    private final int minChunkX;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    private final int minSectionY;
+    private final int maxSectionY;
+
+    private int chunkX;
+    private int chunkZ;
+    private int sectionY;
+    private boolean chunkChanged;
+    private long convertedBlocks;
+    private int rewrittenSections;
+    private int skippedChunks;
+
+    public SlabConversionJob(ServerWorld world, BlockBox region, ServerCommandSource source) {
+        this.world = world;
+        this.region = region;
+        this.source = source;
+        this.minChunkX = ChunkSectionPos.getSectionCoord(region.getMinX());
+        this.maxChunkX = ChunkSectionPos.getSectionCoord(region.getMaxX());
+        this.maxChunkZ = ChunkSectionPos.getSectionCoord(region.getMaxZ());
+        this.minSectionY = Math.max(ChunkSectionPos.getSectionCoord(region.getMinY()), world.getBottomSectionCoord());
+        this.maxSectionY = Math.min(ChunkSectionPos.getSectionCoord(region.getMaxY()), world.getTopSectionCoord() - 1);
+        this.chunkX = minChunkX;
+        this.chunkZ = ChunkSectionPos.getSectionCoord(region.getMinZ());
+        this.sectionY = minSectionY;
+    }
+
+    public static long getChunkCount(BlockBox region) {
+        long chunksX = ChunkSectionPos.getSectionCoord(region.getMaxX()) - ChunkSectionPos.getSectionCoord(region.getMinX()) + 1;
+        long chunksZ = ChunkSectionPos.getSectionCoord(region.getMaxZ()) - ChunkSectionPos.getSectionCoord(region.getMinZ()) + 1;
+
+        return chunksX * chunksZ;
+    }
+
+    public static void enqueue(SlabConversionJob job) {
+        jobs.add(job);
+    }
+
+    public static void tick() {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+        while (!jobs.isEmpty() && System.nanoTime() < deadline) {
+            SlabConversionJob job = jobs.peek();
+            if (job.run(deadline)) {
+                jobs.poll();
+                job.finish();
+            }
+        }
+    }
+
+    public static void cancelAll() {
+        jobs.clear();
+    }
+
+    private boolean run(long deadline) {
+        while (chunkZ <= maxChunkZ) {
+            // Only chunks that are already loaded are converted, loading or generating the rest here would stall the tick
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+            if (chunk == null) {
+                skippedChunks++;
+                nextChunk();
+                continue;
+            }
+
+            while (sectionY <= maxSectionY) {
+                ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionY));
+                convertSection(chunk, section, sectionY);
+                sectionY++;
+
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+            }
+
+            if (chunkChanged) {
+                resendChunk(chunk);
+            }
+
+            nextChunk();
+        }
+
+        return true;
+    }
+
+    private void nextChunk() {
+        chunkChanged = false;
+        sectionY = minSectionY;
+
+        if (++chunkX > maxChunkX) {
+            chunkX = minChunkX;
+            chunkZ++;
+        }
+    }
+
+    private void finish() {
+        source.sendFeedback(() -> Text.literal("[Unslab] Converted " + convertedBlocks + " double slab(s) to full blocks, rewriting "
+                + rewrittenSections + " section palette(s)." + (skippedChunks > 0 ? " Skipped " + skippedChunks + " unloaded chunk(s)." : "")), true);
+    }
+
+    private void convertSection(WorldChunk chunk, ChunkSection section, int sectionCoord) {
+        if (section.isEmpty() || !section.hasAny(SlabConversionJob::isConvertible)) {
+            return;
+        }
+
+        int minX = ChunkSectionPos.getBlockCoord(chunk.getPos().x);
+        int minY = ChunkSectionPos.getBlockCoord(sectionCoord);
+        int minZ = ChunkSectionPos.getBlockCoord(chunk.getPos().z);
+
+        boolean wholeSection = region.contains(minX, minY, minZ) && region.contains(minX + 15, minY + 15, minZ + 15);
+        if (!wholeSection || !canConvertPalette(section) || !convertPalette(section)) {
+            convertBlocks(section, minX, minY, minZ);
+        }
+
+        // Marked right away so the work is kept even if the chunk unloads before the job reaches its last section
+        chunk.setNeedsSaving(true);
+    }
+
+    // Replaces the palette entries in place, so the packed indices are left as they are and every block pointing at a
+    // double slab now reads the full block. Block entities, POIs, heightmaps and lighting are not updated on this path,
+    // which is why canConvertPalette only allows swaps that leave all of them unchanged.
+    @SuppressWarnings("unchecked")
+    private boolean convertPalette(ChunkSection section) {
+        PalettedContainer<BlockState> container = section.getBlockStateContainer();
+        Palette<BlockState> palette = ((PalettedContainerAccessor<BlockState>) (Object) container).unslab$getData().palette();
+        long sectionConverted = countConvertible(container);
+
+        switch (palette) {
+            case SingularPalette<BlockState> singular -> ((SingularPaletteAccessor<BlockState>) singular).unslab$setEntry(getReplacement(singular.get(0)));
+            case ArrayPalette<BlockState> array -> {
+                BlockState[] entries = ((ArrayPaletteAccessor<BlockState>) array).unslab$getArray();
+                for (int i = 0; i < array.getSize(); i++) {
+                    if (isConvertible(entries[i])) {
+                        entries[i] = getReplacement(entries[i]);
+                    }
+                }
+            }
+            case BiMapPalette<BlockState> biMap -> {
+                // The bimap hashes its values, so it is refilled under the same ids instead of edited slot by slot
+                Int2ObjectBiMap<BlockState> map = ((BiMapPaletteAccessor<BlockState>) biMap).unslab$getMap();
+                BlockState[] entries = new BlockState[map.size()];
+                for (int i = 0; i < entries.length; i++) {
+                    BlockState state = map.get(i);
+                    entries[i] = isConvertible(state) ? getReplacement(state) : state;
+                }
+
+                map.clear();
+                for (int i = 0; i < entries.length; i++) {
+                    map.put(entries[i], i);
+                }
+            }
+            // The global palette stores raw state ids directly, so there is no entry to swap
+            default -> {
+                return false;
+            }
+        }
+
+        section.calculateCounts();
+        convertedBlocks += sectionConverted;
+        rewrittenSections++;
+        chunkChanged = true;
+
+        return true;
+    }
+
+    private static long countConvertible(PalettedContainer<BlockState> container) {
+        long[] convertible = new long[1];
+        container.count((state, count) -> {
+            if (isConvertible(state)) {
+                convertible[0] += count;
+            }
+        });
+
+        return convertible[0];
+    }
+
+    private static boolean canConvertPalette(ChunkSection section) {
+        Set<BlockState> states = new HashSet<>();
+        section.getBlockStateContainer().count((state, count) -> {
+            if (isConvertible(state)) {
+                states.add(state);
+            }
+        });
+
+        for (BlockState state : states) {
+            if (!isUnobservableSwap(state, getReplacement(state))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isUnobservableSwap(BlockState state, BlockState replacement) {
+        if (state.hasBlockEntity() || replacement.hasBlockEntity()) {
+            return false;
+        }
+
+        if (PointOfInterestTypes.getTypeForState(state).isPresent() || PointOfInterestTypes.getTypeForState(replacement).isPresent()) {
+            return false;
+        }
+
+        if (state.getLuminance() != replacement.getLuminance()
+                || state.getOpacity(EmptyBlockView.INSTANCE, BlockPos.ORIGIN) != replacement.getOpacity(EmptyBlockView.INSTANCE, BlockPos.ORIGIN)
+                || state.isOpaqueFullCube(EmptyBlockView.INSTANCE, BlockPos.ORIGIN) != replacement.isOpaqueFullCube(EmptyBlockView.INSTANCE, BlockPos.ORIGIN)) {
+            return false;
+        }
+
+        for (Heightmap.Type type : Heightmap.Type.values()) {
+            if (type.getBlockPredicate().test(state) != type.getBlockPredicate().test(replacement)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void convertBlocks(ChunkSection section, int minX, int minY, int minZ) {
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        for (int y = Math.max(minY, region.getMinY()); y <= Math.min(minY + 15, region.getMaxY()); y++) {
+            for (int z = Math.max(minZ, region.getMinZ()); z <= Math.min(minZ + 15, region.getMaxZ()); z++) {
+                for (int x = Math.max(minX, region.getMinX()); x <= Math.min(minX + 15, region.getMaxX()); x++) {
+                    BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+
+                    if (isConvertible(state)) {
+                        world.setBlockState(pos.set(x, y, z), getReplacement(state), Block.NOTIFY_LISTENERS);
+                        convertedBlocks++;
+                    }
+                }
+            }
+        }
+    }
+
+    private void resendChunk(WorldChunk chunk) {
+        ChunkDataS2CPacket packet = new ChunkDataS2CPacket(chunk, world.getLightingProvider(), null, null);
+
+        for (ServerPlayerEntity player : PlayerLookup.tracking(world, chunk.getPos())) {
+            player.networkHandler.sendPacket(packet);
+        }
+    }
+
+    private static boolean isConvertible(BlockState state) {
+        return state.getBlock() instanceof SlabBlock
+                && state.get(SlabBlock.TYPE) == SlabType.DOUBLE
+                && UnslabLookup.get().fullBlockFor(state.getBlock()) != null;
+    }
+
+    private static BlockState getReplacement(BlockState state) {
+        return UnslabLookup.get().fullBlockFor(state.getBlock()).getDefaultState();
+    }
+}
@@ -0,0 +1,84 @@
+package com.dooji.unslab;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SlabRecipeLookup {
+    public static final SlabRecipeLookup EMPTY = new SlabRecipeLookup(Map.of());
+
+    private final Map<Item, RecipeEntry<ShapedRecipe>> recipesBySlab;
+
+    private SlabRecipeLookup(Map<Item, RecipeEntry<ShapedRecipe>> recipesBySlab) {
+        this.recipesBySlab = recipesBySlab;
+    }
+
+    public static SlabRecipeLookup of(List<RecipeEntry<ShapedRecipe>> recipes) {
+        Map<Item, RecipeEntry<ShapedRecipe>> recipesBySlab = new HashMap<>();
+
+        for (RecipeEntry<ShapedRecipe> recipe : recipes) {
+            if (!isSlabPattern(recipe.value())) {
+                continue;
+            }
+
+            Ingredient slabIngredient = recipe.value().getIngredients().get(0);
+
+            for (ItemStack slabStack : slabIngredient.getMatchingStacks()) {
+                recipesBySlab.put(slabStack.getItem(), recipe);
+            }
+        }
+
+        return new SlabRecipeLookup(recipesBySlab);
+    }
+
+    public RecipeEntry<ShapedRecipe> match(CraftingRecipeInput input) {
+        if (recipesBySlab.isEmpty()) {
+            return null;
+        }
+
+        int width = input.getWidth();
+        int size = input.getSize();
+        int topSlot = -1;
+        int bottomSlot = -1;
+
+        for (int slot = 0; slot < size; slot++) {
+            if (input.getStackInSlot(slot).isEmpty()) {
+                continue;
+            }
+
+            if (topSlot == -1) {
+                topSlot = slot;
+            } else if (bottomSlot == -1) {
+                bottomSlot = slot;
+            } else {
+                return null;
+            }
+        }
+
+        if (bottomSlot == -1 || bottomSlot != topSlot + width) {
+            return null;
+        }
+
+        RecipeEntry<ShapedRecipe> recipe = recipesBySlab.get(input.getStackInSlot(topSlot).getItem());
+        if (recipe == null || recipe != recipesBySlab.get(input.getStackInSlot(bottomSlot).getItem())) {
+            return null;
+        }
+
+        return recipe;
+    }
+
+    public boolean isEmpty() {
+        return recipesBySlab.isEmpty();
+    }
+
+    public static boolean isSlabPattern(ShapedRecipe recipe) {
+        return recipe.getWidth() == 1 && recipe.getHeight() == 2;
+    }
+}
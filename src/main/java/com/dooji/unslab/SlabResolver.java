@@ -0,0 +1,152 @@
+package com.dooji.unslab;
+
+import com.dooji.unslab.stats.ResolutionPhase;
+import com.dooji.unslab.stats.UnslabStats;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class SlabResolver<T> {
+    private static final String SLAB_SUFFIX = "_slab";
+    private static final String PLANKS_KEY_SUFFIX = "_plank";
+    private static final String[] ALIAS_SUFFIXES = {"_block", "_plank", "_tile"};
+
+    private final BlockPathIndex<T> pathIndex = new BlockPathIndex<>();
+    private final BlockPathIndex<T> keyIndex = new BlockPathIndex<>();
+    private final BlockPathIndex<T> aliasIndex = new BlockPathIndex<>();
+
+    public void add(String namespace, String path, T value) {
+        pathIndex.add(namespace, path, value);
+
+        String key = normalize(path);
+        keyIndex.add(namespace, key, value);
+
+        String alias = getAlias(key);
+        if (alias != null) {
+            aliasIndex.add(namespace, alias, value);
+        }
+    }
+
+    public T resolve(String namespace, String slabPath) {
+        return resolve(namespace, slabPath, SLAB_SUFFIX);
+    }
+
+    public T resolve(String namespace, String shapedPath, String shapeSuffix) {
+        boolean timed = UnslabStats.isPhaseTrackingEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        String baseName = removeSuffix(shapedPath, shapeSuffix);
+        String key = normalize(baseName);
+
+        // Wood shapes name the wood, not the planks, and some woods (bamboo) are also a block of their own
+        T fullBlock = keyIndex.find(key + PLANKS_KEY_SUFFIX, namespace);
+        start = recordPhase(timed, ResolutionPhase.PLANKS, start, fullBlock);
+
+        if (fullBlock != null) {
+            return fullBlock;
+        }
+
+        fullBlock = pathIndex.find(baseName, namespace);
+        start = recordPhase(timed, ResolutionPhase.EXACT, start, fullBlock);
+
+        if (fullBlock != null) {
+            return fullBlock;
+        }
+
+        fullBlock = keyIndex.find(key, namespace);
+        start = recordPhase(timed, ResolutionPhase.NORMALIZED, start, fullBlock);
+
+        if (fullBlock != null) {
+            return fullBlock;
+        }
+
+        fullBlock = aliasIndex.find(key, namespace);
+        recordPhase(timed, ResolutionPhase.ALIAS, start, fullBlock);
+
+        return fullBlock;
+    }
+
+    public Set<String> getCandidateKeys(String shapedPath, String shapeSuffix) {
+        String baseName = removeSuffix(shapedPath, shapeSuffix);
+        String key = normalize(baseName);
+        Set<String> keys = new LinkedHashSet<>();
+
+        keys.add(baseName);
+        keys.add(key);
+        keys.add(key + PLANKS_KEY_SUFFIX);
+
+        return keys;
+    }
+
+    public static Set<String> getBlockKeys(String path) {
+        String key = normalize(path);
+        Set<String> keys = new LinkedHashSet<>();
+
+        keys.add(path);
+        keys.add(key);
+
+        String alias = getAlias(key);
+        if (alias != null) {
+            keys.add(alias);
+        }
+
+        return keys;
+    }
+
+    public static String normalize(String path) {
+        String[] components = path.split("_");
+        for (int i = 0; i < components.length; i++) {
+            components[i] = singularize(components[i]);
+        }
+
+        return String.join("_", components);
+    }
+
+    private static String getAlias(String key) {
+        for (String suffix : ALIAS_SUFFIXES) {
+            if (key.length() > suffix.length() && key.endsWith(suffix)) {
+                return key.substring(0, key.length() - suffix.length());
+            }
+        }
+
+        return null;
+    }
+
+    private static String singularize(String component) {
+        if (component.length() <= 3) {
+            return component;
+        }
+
+        if (component.endsWith("ies")) {
+            return component.substring(0, component.length() - 3) + "y";
+        }
+
+        if (component.endsWith("sses") || component.endsWith("xes") || component.endsWith("ches") || component.endsWith("shes")) {
+            return component.substring(0, component.length() - 2);
+        }
+
+        if (component.endsWith("s") && !component.endsWith("ss") && !component.endsWith("us") && !component.endsWith("is")) {
+            return component.substring(0, component.length() - 1);
+        }
+
+        return component;
+    }
+
+    private static long recordPhase(boolean timed, ResolutionPhase phase, long start, Object result) {
+        if (!timed) {
+            return start;
+        }
+
+        long now = System.nanoTime();
+        UnslabStats.recordPhase(phase, now - start, 1, result != null);
+
+        return now;
+    }
+
+    private static String removeSuffix(String shapedPath, String shapeSuffix) {
+        if (shapedPath.endsWith(shapeSuffix)) {
+            return shapedPath.substring(0, shapedPath.length() - shapeSuffix.length());
+        }
+
+        return shapedPath;
+    }
+}
@@ -1,19 +1,86 @@
 package com.dooji.unslab;
 
+import com.dooji.unslab.network.UnslabNetworking;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.network.packet.s2c.play.SynchronizeRecipesS2CPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
 public class Unslab implements ModInitializer {
 	public static final String MOD_ID = "unslab";
 	public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
+	private static volatile MinecraftServer server;
+
 	@Override
 	public void onInitialize() {
 		LOGGER.info("[Unslab] Initializing Unslab...");
 
+		UnslabConfig.load();
+		UnslabConfigStore.load();
 		UnslabMapping.initialize();
+		UnslabNetworking.initialize();
+
+		ServerLifecycleEvents.SERVER_STARTED.register(startedServer -> server = startedServer);
+		ServerLifecycleEvents.SERVER_STOPPED.register(stoppedServer -> {
+			server = null;
+			SlabConversionJob.cancelAll();
+		});
+		ServerTickEvents.END_SERVER_TICK.register(tickingServer -> SlabConversionJob.tick());
+		ServerLifecycleEvents.START_DATA_PACK_RELOAD.register((reloadingServer, resourceManager) -> {
+			if (UnslabMapping.applyCustomMappingChanges(UnslabConfigStore.reload())) {
+				UnslabNetworking.broadcastFingerprint(reloadingServer);
+			}
+		});
+
+		String generateTarget = System.getProperty(UnslabDatapackGenerator.OUTPUT_PROPERTY);
+		if (generateTarget != null) {
+			ServerLifecycleEvents.SERVER_STARTED.register(startedServer -> generateDatapack(startedServer, Path.of(generateTarget)));
+		}
+
+		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> UnslabCommands.register(dispatcher));
+
+		UnslabConfigStore.addListener(Unslab::onCustomMappingsChanged);
+		UnslabConfigStore.startWatching();
 
 		LOGGER.info("[Unslab] Unslab has finished initializing!");
 	}
-}
\ No newline at end of file
+
+	private static void generateDatapack(MinecraftServer startedServer, Path outputDirectory) {
+		try {
+			UnslabDatapackGenerator.generate(outputDirectory);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("[Unslab] Failed to generate the datapack in {}", outputDirectory, e);
+		}
+
+		startedServer.stop(false);
+	}
+
+	private static void onCustomMappingsChanged(Set<Identifier> changedSlabs) {
+		MinecraftServer currentServer = server;
+		if (currentServer == null) {
+			UnslabMapping.applyCustomMappingChanges(changedSlabs);
+			return;
+		}
+
+		currentServer.execute(() -> {
+			boolean mappingsChanged = UnslabMapping.applyCustomMappingChanges(changedSlabs);
+			if (!mappingsChanged || !UnslabConfig.isRuntimeRecipesEnabled()) {
+				return;
+			}
+
+			((UnslabRecipeManager) currentServer.getRecipeManager()).unslab$refreshGeneratedRecipes();
+			currentServer.getPlayerManager().sendToAll(new SynchronizeRecipesS2CPacket(UnslabRecipes.getSyncedRecipes(currentServer.getRecipeManager().values())));
+			UnslabNetworking.broadcastFingerprint(currentServer);
+		});
+	}
+}
@@ -1,7 +1,9 @@
 package com.dooji.unslab;
 
+import com.dooji.unslab.network.UnslabClientNetworking;
 import com.dooji.unslab.ui.UnslabConfigScreen;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.minecraft.client.MinecraftClient;
@@ -16,6 +18,8 @@ public class UnslabClient implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
         registerKeybind();
+        UnslabClientNetworking.initialize();
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> UnslabConfigIO.flushPending());
     }
 
     private void registerKeybind() {
@@ -0,0 +1,88 @@
+package com.dooji.unslab;
+
+import com.dooji.unslab.stats.ResolutionPhase;
+import com.dooji.unslab.stats.UnslabStats;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+
+import java.util.Locale;
+
+public class UnslabCommands {
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("unslab")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("stats").executes(UnslabCommands::showStats))
+                .then(CommandManager.literal("convert")
+                        .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                                        .executes(UnslabCommands::convert)))));
+    }
+
+    private static int convert(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        BlockBox region = BlockBox.create(
+                BlockPosArgumentType.getValidBlockPos(context, "from"),
+                BlockPosArgumentType.getValidBlockPos(context, "to"));
+
+        long chunkCount = SlabConversionJob.getChunkCount(region);
+        if (chunkCount > SlabConversionJob.MAX_CHUNKS) {
+            source.sendError(Text.literal(String.format(Locale.ROOT, "[Unslab] The region spans %d chunks, the limit is %d. Convert it in smaller parts.",
+                    chunkCount, SlabConversionJob.MAX_CHUNKS)));
+            return 0;
+        }
+
+        // Conversion needs the lookup, so this is the one command that resolves when runtime recipes are turned off
+        UnslabMapping.ensureResolved();
+        SlabConversionJob.enqueue(new SlabConversionJob(source.getWorld(), region, source));
+
+        source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT, "[Unslab] Queued conversion of %d block(s) from %s to %s.",
+                (long) region.getBlockCountX() * region.getBlockCountY() * region.getBlockCountZ(),
+                region.getMinX() + " " + region.getMinY() + " " + region.getMinZ(),
+                region.getMaxX() + " " + region.getMaxY() + " " + region.getMaxZ())), true);
+
+        return 1;
+    }
+
+    private static int showStats(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+
+        if (UnslabMapping.isResolved()) {
+            source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT, "[Unslab] Resolution: %s in %.2f ms, %d mappings",
+                    UnslabStats.isLoadedFromCache() ? "cache" : "resolved",
+                    toMillis(UnslabStats.getResolutionNanos()),
+                    UnslabMapping.getMappingCount())), false);
+        } else {
+            source.sendFeedback(() -> Text.literal("[Unslab] Resolution: not run yet"), false);
+        }
+
+        if (!UnslabStats.isPhaseTrackingEnabled()) {
+            source.sendFeedback(() -> Text.literal("  Per-phase stats are off, set \"phaseStats\": true in settings.json or record with JFR to collect them"), false);
+        }
+
+        for (ResolutionPhase phase : ResolutionPhase.values()) {
+            source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT, "  %s: %.2f ms, %d lookups, %d hits, %d misses",
+                    phase.getLabel(),
+                    toMillis(UnslabStats.getPhaseNanos(phase)),
+                    UnslabStats.getPhaseLookups(phase),
+                    UnslabStats.getPhaseHits(phase),
+                    UnslabStats.getPhaseMisses(phase))), false);
+        }
+
+        source.sendFeedback(() -> Text.literal(String.format(Locale.ROOT, "[Unslab] Recipe injection: %.2f ms for %d recipes (%d injections)",
+                toMillis(UnslabStats.getLastInjectionNanos()),
+                UnslabStats.getLastInjectionRecipes(),
+                UnslabStats.getInjectionCount())), false);
+
+        return 1;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
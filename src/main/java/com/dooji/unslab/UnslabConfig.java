@@ -0,0 +1,140 @@
+package com.dooji.unslab;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public class UnslabConfig {
+    private static final File configFile = new File("config/Unslab/settings.json");
+
+    private static ResolutionMode resolutionMode = ResolutionMode.AUTO;
+    private static RecipeMode recipeMode = RecipeMode.CONSOLIDATED;
+    private static RecipeBookMode recipeBookMode = RecipeBookMode.SYNCED;
+    private static ConflictPolicy conflictPolicy = ConflictPolicy.REPORT;
+    private static boolean runtimeRecipes = true;
+    private static boolean phaseStats = false;
+    private static Set<BlockShape> shapes = Collections.unmodifiableSet(EnumSet.of(BlockShape.SLAB));
+
+    public static void load() {
+        if (!configFile.exists()) {
+            return;
+        }
+
+        try (FileReader reader = new FileReader(configFile)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+
+            resolutionMode = readEnum(json, "resolutionMode", ResolutionMode.class, resolutionMode);
+            recipeMode = readEnum(json, "recipeMode", RecipeMode.class, recipeMode);
+            recipeBookMode = readEnum(json, "recipeBookMode", RecipeBookMode.class, recipeBookMode);
+            conflictPolicy = readEnum(json, "conflictPolicy", ConflictPolicy.class, conflictPolicy);
+            runtimeRecipes = readBoolean(json, "runtimeRecipes", runtimeRecipes);
+            phaseStats = readBoolean(json, "phaseStats", phaseStats);
+            shapes = readEnumSet(json, "shapes", BlockShape.class, shapes);
+        } catch (IOException | RuntimeException e) {
+            Unslab.LOGGER.error("[Unslab] Failed to load settings from {}", configFile, e);
+        }
+    }
+
+    public static ResolutionMode getResolutionMode() {
+        return resolutionMode;
+    }
+
+    public static RecipeMode getRecipeMode() {
+        return recipeMode;
+    }
+
+    public static RecipeBookMode getRecipeBookMode() {
+        return recipeBookMode;
+    }
+
+    public static ConflictPolicy getConflictPolicy() {
+        return conflictPolicy;
+    }
+
+    public static boolean isRuntimeRecipesEnabled() {
+        return runtimeRecipes;
+    }
+
+    public static boolean isPhaseStatsEnabled() {
+        return phaseStats;
+    }
+
+    public static Set<BlockShape> getShapes() {
+        return shapes;
+    }
+
+    private static <E extends Enum<E>> Set<E> readEnumSet(JsonObject json, String key, Class<E> type, Set<E> fallback) {
+        JsonElement element = json.get(key);
+        if (element == null || !element.isJsonArray()) {
+            return fallback;
+        }
+
+        Set<E> values = EnumSet.noneOf(type);
+        for (JsonElement value : element.getAsJsonArray()) {
+            try {
+                values.add(Enum.valueOf(type, value.getAsString().toUpperCase(Locale.ROOT)));
+            } catch (RuntimeException e) {
+                Unslab.LOGGER.warn("[Unslab] Unknown value '{}' in setting {}, ignoring it", value, key);
+            }
+        }
+
+        return Collections.unmodifiableSet(values);
+    }
+
+    private static boolean readBoolean(JsonObject json, String key, boolean fallback) {
+        JsonElement element = json.get(key);
+        if (element == null) {
+            return fallback;
+        }
+
+        try {
+            return element.getAsBoolean();
+        } catch (RuntimeException e) {
+            Unslab.LOGGER.warn("[Unslab] Unknown value '{}' for setting {}, using {}", element, key, fallback);
+            return fallback;
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(JsonObject json, String key, Class<E> type, E fallback) {
+        JsonElement element = json.get(key);
+        if (element == null) {
+            return fallback;
+        }
+
+        try {
+            return Enum.valueOf(type, element.getAsString().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            Unslab.LOGGER.warn("[Unslab] Unknown value '{}' for setting {}, using {}", element, key, fallback);
+            return fallback;
+        }
+    }
+
+    public enum ResolutionMode {
+        AUTO,
+        SERIAL,
+        PARALLEL
+    }
+
+    public enum RecipeMode {
+        PER_SLAB,
+        CONSOLIDATED
+    }
+
+    public enum RecipeBookMode {
+        SYNCED,
+        HIDDEN
+    }
+
+    public enum ConflictPolicy {
+        REPORT,
+        SKIP
+    }
+}
@@ -0,0 +1,116 @@
+package com.dooji.unslab;
+
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class UnslabConfigIO {
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Unslab Config IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<Path, byte[]> pendingWrites = new ConcurrentHashMap<>();
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    static {
+        // The executor thread is a daemon, so anything still queued when the game quits would otherwise be dropped
+        Runtime.getRuntime().addShutdownHook(new Thread(UnslabConfigIO::flushPending, "Unslab Config Flush"));
+    }
+
+    public static void writeAsync(Path path, JsonObject json) {
+        writeAsync(path, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void writeAsync(Path path, byte[] content) {
+        if (pendingWrites.put(path, content) != null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> flush(path));
+        } catch (RejectedExecutionException e) {
+            flush(path);
+        }
+    }
+
+    // Waits for the write in progress and writes whatever is still queued on the calling thread
+    public static void flushPending() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Unslab.LOGGER.warn("[Unslab] Timed out waiting for config writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Path path : pendingWrites.keySet()) {
+            flush(path);
+        }
+    }
+
+    public static CompletableFuture<byte[]> readAsync(Path path) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] pending = pendingWrites.get(path);
+            if (pending != null) {
+                return pending;
+            }
+
+            if (!Files.exists(path)) {
+                return null;
+            }
+
+            try {
+                return Files.readAllBytes(path);
+            } catch (IOException e) {
+                Unslab.LOGGER.warn("[Unslab] Failed to read {}", path, e);
+                return null;
+            }
+        }, executor);
+    }
+
+    private static void flush(Path path) {
+        byte[] content = pendingWrites.remove(path);
+        if (content == null) {
+            return;
+        }
+
+        try {
+            writeAtomically(path, content);
+        } catch (IOException e) {
+            Unslab.LOGGER.error("[Unslab] Failed to write {}", path, e);
+        }
+    }
+
+    private static void writeAtomically(Path path, byte[] content) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path tempFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+
+            try {
+                Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
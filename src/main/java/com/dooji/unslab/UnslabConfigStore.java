@@ -0,0 +1,216 @@
+package com.dooji.unslab;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class UnslabConfigStore {
+    private static final Path configFile = Path.of("config/Unslab/custom-mappings.json");
+    private static final List<Consumer<Set<Identifier>>> listeners = new CopyOnWriteArrayList<>();
+
+    private static volatile Map<Identifier, String> customMappings = Map.of();
+    private static volatile Map<String, String> patternMappings = Map.of();
+    private static volatile CustomMappingRules rules = CustomMappingRules.EMPTY;
+    private static Thread watcherThread;
+
+    public static synchronized void load() {
+        ParsedMappings parsed = readFile();
+        customMappings = Collections.unmodifiableMap(parsed.exact());
+        patternMappings = Collections.unmodifiableMap(parsed.patterns());
+        rules = CustomMappingRules.compile(customMappings, patternMappings);
+
+        if (!patternMappings.isEmpty()) {
+            Unslab.LOGGER.info("[Unslab] Loaded {} of {} custom mapping pattern rule(s).", rules.getRuleCount(), patternMappings.size());
+        }
+    }
+
+    public static Set<Identifier> reload() {
+        return apply(readFile(), false);
+    }
+
+    public static Map<Identifier, String> getCustomMappings() {
+        return customMappings;
+    }
+
+    public static Identifier resolveCustomMapping(Identifier slabId) {
+        return rules.resolve(slabId);
+    }
+
+    public static Path getConfigFile() {
+        return configFile;
+    }
+
+    public static void addListener(Consumer<Set<Identifier>> listener) {
+        listeners.add(listener);
+    }
+
+    public static void update(Map<Identifier, String> newMappings) {
+        JsonObject json = new JsonObject();
+        newMappings.forEach((slabId, fullBlockId) -> json.addProperty(slabId.toString(), fullBlockId));
+
+        // The config screen only edits exact entries, so pattern rules are carried over as they are
+        Map<String, String> currentPatterns = patternMappings;
+        currentPatterns.forEach(json::addProperty);
+
+        UnslabConfigIO.writeAsync(configFile, json);
+        apply(new ParsedMappings(new LinkedHashMap<>(newMappings), currentPatterns), true);
+    }
+
+    public static synchronized void startWatching() {
+        if (watcherThread != null) {
+            return;
+        }
+
+        watcherThread = new Thread(UnslabConfigStore::watch, "Unslab Config Watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private static void watch() {
+        Path directory = configFile.toAbsolutePath().getParent();
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Files.createDirectories(directory);
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean configChanged = false;
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (configFile.getFileName().equals(event.context())) {
+                        configChanged = true;
+                    }
+                }
+
+                if (configChanged) {
+                    try {
+                        apply(readFile(), true);
+                    } catch (RuntimeException e) {
+                        Unslab.LOGGER.error("[Unslab] Failed to apply changes to {}", configFile, e);
+                    }
+                }
+
+                if (!key.reset()) {
+                    Unslab.LOGGER.warn("[Unslab] Stopped watching {} because the directory is no longer accessible", directory);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            Unslab.LOGGER.error("[Unslab] Failed to watch {} for changes", configFile, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Set<Identifier> apply(ParsedMappings parsed, boolean notifyListeners) {
+        Map<Identifier, String> newMappings = parsed.exact();
+        Set<Identifier> changedSlabs;
+
+        synchronized (UnslabConfigStore.class) {
+            Map<Identifier, String> oldMappings = customMappings;
+            CustomMappingRules oldRules = rules;
+            CustomMappingRules newRules = oldRules;
+            changedSlabs = new HashSet<>();
+
+            for (Identifier slabId : oldMappings.keySet()) {
+                if (!Objects.equals(oldMappings.get(slabId), newMappings.get(slabId))) {
+                    changedSlabs.add(slabId);
+                }
+            }
+
+            for (Identifier slabId : newMappings.keySet()) {
+                if (!oldMappings.containsKey(slabId)) {
+                    changedSlabs.add(slabId);
+                }
+            }
+
+            if (!patternMappings.equals(parsed.patterns())) {
+                newRules = CustomMappingRules.compile(newMappings, parsed.patterns());
+
+                // A rule can reach any block, so compare what the old and new rules produce for each one
+                for (Identifier blockId : Registries.BLOCK.getIds()) {
+                    if (!Objects.equals(oldRules.resolve(blockId), newRules.resolve(blockId))) {
+                        changedSlabs.add(blockId);
+                    }
+                }
+            } else if (!changedSlabs.isEmpty()) {
+                newRules = CustomMappingRules.compile(newMappings, parsed.patterns());
+            }
+
+            patternMappings = Collections.unmodifiableMap(parsed.patterns());
+            rules = newRules;
+
+            if (changedSlabs.isEmpty()) {
+                return changedSlabs;
+            }
+
+            customMappings = Collections.unmodifiableMap(newMappings);
+        }
+
+        Unslab.LOGGER.info("[Unslab] Custom mappings changed for {} slab(s).", changedSlabs.size());
+
+        if (notifyListeners) {
+            for (Consumer<Set<Identifier>> listener : listeners) {
+                listener.accept(changedSlabs);
+            }
+        }
+
+        return changedSlabs;
+    }
+
+    private static ParsedMappings readFile() {
+        Map<Identifier, String> mappings = new LinkedHashMap<>();
+        Map<String, String> patterns = new LinkedHashMap<>();
+        if (!Files.exists(configFile)) {
+            return new ParsedMappings(mappings, patterns);
+        }
+
+        try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                String fullBlockId = entry.getValue().getAsString();
+
+                if (CustomMappingRules.isPattern(entry.getKey())) {
+                    patterns.put(entry.getKey(), fullBlockId);
+                    continue;
+                }
+
+                Identifier slabId = Identifier.tryParse(entry.getKey());
+                if (slabId != null && Identifier.tryParse(fullBlockId) != null) {
+                    mappings.put(slabId, fullBlockId);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Unslab.LOGGER.error("[Unslab] Failed to load custom mappings from {}", configFile, e);
+            return new ParsedMappings(customMappings, patternMappings);
+        }
+
+        return new ParsedMappings(mappings, patterns);
+    }
+
+    private record ParsedMappings(Map<Identifier, String> exact, Map<String, String> patterns) {
+    }
+}
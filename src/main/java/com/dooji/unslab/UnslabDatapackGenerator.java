@@ -0,0 +1,95 @@
+package com.dooji.unslab;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.block.Block;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.registry.Registries;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class UnslabDatapackGenerator {
+    public static final String OUTPUT_PROPERTY = "unslab.generate";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private static final int PACK_FORMAT = 48;
+
+    public static void generate(Path outputDirectory) throws IOException {
+        List<RecipeEntry<ShapedRecipe>> recipes = UnslabRecipes.getRecipes();
+        Path recipeDirectory = outputDirectory.resolve("data").resolve(Unslab.MOD_ID).resolve("recipe");
+
+        // Start from an empty recipe folder so mappings that disappeared also disappear from the pack
+        deleteRecursively(recipeDirectory);
+        Files.createDirectories(recipeDirectory);
+
+        for (RecipeEntry<ShapedRecipe> recipe : recipes) {
+            JsonElement json = Recipe.CODEC.encodeStart(JsonOps.INSTANCE, recipe.value()).getOrThrow(IllegalStateException::new);
+            Path recipeFile = recipeDirectory.resolve(recipe.id().getPath() + ".json");
+
+            Files.createDirectories(recipeFile.getParent());
+            Files.writeString(recipeFile, GSON.toJson(json) + "\n", StandardCharsets.UTF_8);
+        }
+
+        JsonObject pack = new JsonObject();
+        pack.addProperty("pack_format", PACK_FORMAT);
+        pack.addProperty("description", "Generated Unslab recipes");
+
+        JsonObject packMeta = new JsonObject();
+        packMeta.add("pack", pack);
+
+        Files.writeString(outputDirectory.resolve("pack.mcmeta"), GSON.toJson(packMeta) + "\n", StandardCharsets.UTF_8);
+        Files.writeString(outputDirectory.resolve("unslab.lock.json"), GSON.toJson(createLockfile()) + "\n", StandardCharsets.UTF_8);
+
+        Unslab.LOGGER.info("[Unslab] Wrote {} recipe(s) and a lockfile to {}", recipes.size(), outputDirectory.toAbsolutePath());
+    }
+
+    private static JsonObject createLockfile() {
+        JsonObject lockfile = new JsonObject();
+        lockfile.addProperty("fingerprint", HexFormat.of().formatHex(UnslabMappingCache.computeFingerprint(UnslabConfigStore.getConfigFile().toFile())));
+
+        JsonObject mods = new JsonObject();
+        FabricLoader.getInstance().getAllMods().stream()
+                .sorted(Comparator.comparing(mod -> mod.getMetadata().getId()))
+                .forEach((ModContainer mod) -> mods.addProperty(mod.getMetadata().getId(), mod.getMetadata().getVersion().getFriendlyString()));
+        lockfile.add("mods", mods);
+
+        Map<String, String> sortedMappings = new TreeMap<>();
+        for (Map.Entry<Block, Block> entry : UnslabMapping.getSlabToBlockMap().entrySet()) {
+            sortedMappings.put(Registries.BLOCK.getId(entry.getKey()).toString(), Registries.BLOCK.getId(entry.getValue()).toString());
+        }
+
+        JsonObject mappings = new JsonObject();
+        sortedMappings.forEach(mappings::addProperty);
+        lockfile.add("mappings", mappings);
+
+        return lockfile;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
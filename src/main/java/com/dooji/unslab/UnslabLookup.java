@@ -0,0 +1,84 @@
+package com.dooji.unslab;
+
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class UnslabLookup {
+    private static final List<Block> NO_SLABS = List.of();
+    private static volatile UnslabLookup current = new UnslabLookup(new Block[0], newSlabLists(0));
+
+    private final Block[] fullBlocksByRawId;
+    private final List<Block>[] slabsByRawId;
+
+    private UnslabLookup(Block[] fullBlocksByRawId, List<Block>[] slabsByRawId) {
+        this.fullBlocksByRawId = fullBlocksByRawId;
+        this.slabsByRawId = slabsByRawId;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Block>[] newSlabLists(int size) {
+        return new List[size];
+    }
+
+    public static UnslabLookup get() {
+        return current;
+    }
+
+    public Block fullBlockFor(Block slab) {
+        return fullBlockFor(Registries.BLOCK.getRawId(slab));
+    }
+
+    public Block fullBlockFor(int slabRawId) {
+        if (slabRawId < 0 || slabRawId >= fullBlocksByRawId.length) {
+            return null;
+        }
+
+        return fullBlocksByRawId[slabRawId];
+    }
+
+    public List<Block> slabsFor(Block fullBlock) {
+        return slabsFor(Registries.BLOCK.getRawId(fullBlock));
+    }
+
+    public List<Block> slabsFor(int fullBlockRawId) {
+        if (fullBlockRawId < 0 || fullBlockRawId >= slabsByRawId.length || slabsByRawId[fullBlockRawId] == null) {
+            return NO_SLABS;
+        }
+
+        return slabsByRawId[fullBlockRawId];
+    }
+
+    static void rebuild(Map<Block, Block> slabToBlockMap) {
+        int size = Registries.BLOCK.size();
+        Block[] fullBlocksByRawId = new Block[size];
+        List<Block>[] slabsByRawId = newSlabLists(size);
+
+        slabToBlockMap.forEach((slab, fullBlock) -> {
+            int slabRawId = Registries.BLOCK.getRawId(slab);
+            int fullBlockRawId = Registries.BLOCK.getRawId(fullBlock);
+
+            if (slabRawId >= 0 && slabRawId < size && fullBlockRawId >= 0 && fullBlockRawId < size) {
+                fullBlocksByRawId[slabRawId] = fullBlock;
+
+                if (slabsByRawId[fullBlockRawId] == null) {
+                    slabsByRawId[fullBlockRawId] = new ArrayList<>(1);
+                }
+
+                slabsByRawId[fullBlockRawId].add(slab);
+            }
+        });
+
+        for (int i = 0; i < size; i++) {
+            if (slabsByRawId[i] != null) {
+                slabsByRawId[i].sort((first, second) -> Integer.compare(Registries.BLOCK.getRawId(first), Registries.BLOCK.getRawId(second)));
+                slabsByRawId[i] = List.copyOf(slabsByRawId[i]);
+            }
+        }
+
+        current = new UnslabLookup(fullBlocksByRawId, slabsByRawId);
+    }
+}
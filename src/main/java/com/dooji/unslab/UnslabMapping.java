@@ -1,181 +1,299 @@
 package com.dooji.unslab;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.dooji.unslab.stats.UnslabStats;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.event.registry.RegistryEntryAddedCallback;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.Block;
-import net.minecraft.block.SlabBlock;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class UnslabMapping {
     private static final Map<Block, Block> slabToBlockMap = new HashMap<>();
-    private static final Map<Block, String> customMappings = new HashMap<>();
-    private static final Set<String> namespaces = Registries.BLOCK.getIds().stream()
-            .map(Identifier::getNamespace)
-            .collect(Collectors.toSet());
-    private static final File configFile = new File("config/Unslab/custom-mappings.json");
+    private static final Map<Block, Block> slabToBlockView = Collections.unmodifiableMap(slabToBlockMap);
+    private static final Set<Block> changedFullBlocks = new HashSet<>();
+    private static final Set<Block> pendingBlocks = new HashSet<>();
+    private static final Map<String, List<Block>> blocksWaitingOnKey = new HashMap<>();
+    private static final SlabResolver<Block> resolver = new SlabResolver<>();
+    private static final ShapedBlockResolution<Block> resolution = new ShapedBlockResolution<>(resolver,
+            Registries.BLOCK::getId,
+            blockId -> Registries.BLOCK.containsId(blockId) ? Registries.BLOCK.get(blockId) : null,
+            block -> BlockShape.of(block).getSuffix(),
+            UnslabConfigStore::resolveCustomMapping);
+    private static boolean initialized = false;
+    private static boolean resolved = false;
+    private static boolean lookupDirty = false;
+    private static int mappingVersion = 0;
+
+    public static synchronized void initialize() {
+        for (Block block : Registries.BLOCK) {
+            indexBlock(block);
+        }
 
-    public static void initialize() {
-        loadCustomMappings();
+        RegistryEntryAddedCallback.event(Registries.BLOCK).register((rawId, id, block) -> onBlockAdded(block));
+        RegistryIdRemapCallback.event(Registries.BLOCK).register(state -> rebuildLookup());
+        initialized = true;
+    }
 
-        for (Block block : Registries.BLOCK) {
-            if (block instanceof SlabBlock slabBlock) {
-                Identifier slabId = Registries.BLOCK.getId(block);
+    public static synchronized void onBlockRegistryFrozen() {
+        // Clients get the table from the server on join; an integrated server still resolves lazily on first use
+        if (initialized && !resolved && UnslabConfig.isRuntimeRecipesEnabled() && FabricLoader.getInstance().getEnvironmentType() == EnvType.SERVER) {
+            resolveAll();
+        }
 
-                Block fullBlock = getCustomMapping(slabBlock);
-                if (fullBlock != null) {
-                    addMapping(slabBlock, fullBlock);
-                    continue;
-                }
+        flushLookup();
+    }
 
-                fullBlock = mapMinecraftWoodSlabs(slabId);
+    private static synchronized void onBlockAdded(Block block) {
+        indexBlock(block);
 
-                if (fullBlock == null) {
-                    String baseName = removeSlabSuffix(slabId);
-                    fullBlock = searchAllNamespacesForExactBlock(baseName);
+        if (!resolved) {
+            return;
+        }
 
-                    if (fullBlock == null) {
-                        fullBlock = tryPluralizationAcrossNamespaces(baseName);
-                    }
+        if (BlockShape.of(block) != null) {
+            resolveOrWait(block);
+        }
 
-                    if (fullBlock == null) {
-                        fullBlock = searchAllNamespacesForExactBlock(baseName + "_block");
-                    }
-                }
+        for (String key : SlabResolver.getBlockKeys(Registries.BLOCK.getId(block).getPath())) {
+            List<Block> waitingBlocks = blocksWaitingOnKey.remove(key);
+            if (waitingBlocks == null) {
+                continue;
+            }
 
-                if (fullBlock != null && isValidBlock(fullBlock)) {
-                    addMapping(slabBlock, fullBlock);
-                } else {
-                    Unslab.LOGGER.warn("[Unslab] No matching full block found for slab: {}", slabId);
+            for (Block shapedBlock : waitingBlocks) {
+                if (pendingBlocks.contains(shapedBlock)) {
+                    resolveOrWait(shapedBlock);
                 }
             }
         }
-
-        Unslab.LOGGER.info("[Unslab] Finished mapping slabs to blocks. Total mappings: {}", slabToBlockMap.size());
     }
 
-    private static void loadCustomMappings() {
-        if (!configFile.exists()) {
-            return;
+    private static void resolveAll() {
+        resolved = true;
+        UnslabStats.updatePhaseTracking(UnslabConfig.isPhaseStatsEnabled());
+        long start = System.nanoTime();
+
+        // One pass classifies every supported shape, which all share the same index and resolver
+        List<Block> shapedBlocks = new ArrayList<>();
+        for (Block block : Registries.BLOCK) {
+            if (BlockShape.of(block) != null) {
+                shapedBlocks.add(block);
+            }
         }
 
-        try (FileReader reader = new FileReader(configFile)) {
-            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-                Block slab = Registries.BLOCK.get(Identifier.of(entry.getKey()));
-                String fullBlockId = entry.getValue().getAsString();
+        byte[] fingerprint = UnslabMappingCache.computeFingerprint(UnslabConfigStore.getConfigFile().toFile());
+        Map<Block, Block> cachedMappings = UnslabMappingCache.load(fingerprint);
+        if (cachedMappings != null) {
+            slabToBlockMap.putAll(cachedMappings);
+            changedFullBlocks.addAll(cachedMappings.values());
+            mappingVersion++;
 
-                if (Identifier.tryParse(fullBlockId) != null) {
-                    customMappings.put(slab, fullBlockId);
+            for (Block shapedBlock : shapedBlocks) {
+                if (!slabToBlockMap.containsKey(shapedBlock)) {
+                    waitForCandidates(shapedBlock);
                 }
             }
-        } catch (IOException e) {
-            Unslab.LOGGER.error("[Unslab] Failed to load custom mappings from {}", configFile, e);
+
+            Unslab.LOGGER.info("[Unslab] Loaded {} mappings from cache.", slabToBlockMap.size());
+            UnslabStats.recordResolution(System.nanoTime() - start, true);
+            finishResolution();
+            return;
         }
+
+        ShapedBlockResolution.Result<Block> result = resolution.resolveAll(shapedBlocks, UnslabConfig.getResolutionMode());
+        result.mappings().forEach(UnslabMapping::addMapping);
+
+        for (Block shapedBlock : result.unresolved()) {
+            waitForCandidates(shapedBlock);
+            Unslab.LOGGER.warn("[Unslab] No matching full block found for: {}", Registries.BLOCK.getId(shapedBlock));
+        }
+
+        UnslabMappingCache.save(fingerprint, slabToBlockMap);
+        Unslab.LOGGER.info("[Unslab] Finished mapping shaped blocks to full blocks. Total mappings: {}", slabToBlockMap.size());
+        UnslabStats.recordResolution(System.nanoTime() - start, false);
+        finishResolution();
     }
 
-    private static Block getCustomMapping(Block slabBlock) {
-        String customFullBlockId = customMappings.get(slabBlock);
-        if (customFullBlockId != null) {
-            Block fullBlock = Registries.BLOCK.get(Identifier.of(customFullBlockId));
-            if (isValidBlock(fullBlock)) {
-                return fullBlock;
+    private static void finishResolution() {
+        rebuildLookup();
+    }
+
+    // Returns whether any mapping changed; recipes pick up the affected full blocks through drainChangedFullBlocks
+    public static synchronized boolean applyCustomMappingChanges(Set<Identifier> changedSlabIds) {
+        if (!resolved) {
+            return false;
+        }
+
+        UnslabStats.updatePhaseTracking(UnslabConfig.isPhaseStatsEnabled());
+        int added = 0;
+        int changed = 0;
+        int removed = 0;
+
+        for (Identifier blockId : changedSlabIds) {
+            Block shapedBlock = Registries.BLOCK.get(blockId);
+            if (BlockShape.of(shapedBlock) == null) {
+                continue;
+            }
+
+            Block previousFullBlock = slabToBlockMap.get(shapedBlock);
+            Block fullBlock = resolveShapedBlock(shapedBlock);
+
+            if (Objects.equals(previousFullBlock, fullBlock)) {
+                continue;
+            }
+
+            if (fullBlock == null) {
+                removeMapping(shapedBlock);
+                waitForCandidates(shapedBlock);
+                removed++;
+                continue;
+            }
+
+            pendingBlocks.remove(shapedBlock);
+            addMapping(shapedBlock, fullBlock);
+
+            if (previousFullBlock == null) {
+                added++;
+            } else {
+                changed++;
             }
         }
-        return null;
-    }
 
-    private static Block mapMinecraftWoodSlabs(Identifier slabId) {
-        if (!"minecraft".equals(slabId.getNamespace())) {
-            return null;
+        if (added + changed + removed == 0) {
+            return false;
         }
 
-        String path = slabId.getPath();
-        String planksName = path.replace("_slab", "_planks");
+        rebuildLookup();
+        Unslab.LOGGER.info("[Unslab] Mapping refresh: {} added, {} changed, {} removed.", added, changed, removed);
 
-        return switch (path) {
-            case "oak_slab", "spruce_slab", "birch_slab", "jungle_slab", "acacia_slab", "dark_oak_slab",
-                 "mangrove_slab", "cherry_slab", "crimson_slab", "warped_slab", "bamboo_slab" ->
-                    Registries.BLOCK.get(Identifier.of("minecraft", planksName));
-            default -> null;
-        };
+        return true;
     }
 
-    private static String removeSlabSuffix(Identifier slabId) {
-        String slabName = slabId.getPath();
+    private static synchronized void rebuildLookup() {
+        UnslabLookup.rebuild(slabToBlockMap);
+        lookupDirty = false;
+    }
 
-        if (slabName.endsWith("_slab")) {
-            return slabName.substring(0, slabName.length() - "_slab".length());
+    private static void flushLookup() {
+        if (lookupDirty) {
+            rebuildLookup();
         }
+    }
 
-        return slabName;
+    private static void resolveOrWait(Block shapedBlock) {
+        Block fullBlock = resolveShapedBlock(shapedBlock);
+
+        if (fullBlock != null) {
+            pendingBlocks.remove(shapedBlock);
+            addMapping(shapedBlock, fullBlock);
+
+            // Rebuilding is O(registry size), so late mappings are batched until the registry freezes or the mapping is next read
+            lookupDirty = true;
+        } else if (!pendingBlocks.contains(shapedBlock)) {
+            waitForCandidates(shapedBlock);
+        }
     }
 
-    private static Block searchAllNamespacesForExactBlock(String name) {
-        for (String namespace : namespaces) {
-            Block block = Registries.BLOCK.get(Identifier.of(namespace, name));
+    private static void waitForCandidates(Block shapedBlock) {
+        if (!pendingBlocks.add(shapedBlock)) {
+            return;
+        }
 
-            if (isValidBlock(block)) {
-                return block;
-            }
+        for (String candidateKey : getCandidateKeys(shapedBlock)) {
+            blocksWaitingOnKey.computeIfAbsent(candidateKey, key -> new ArrayList<>(1)).add(shapedBlock);
+        }
+    }
+
+    private static Set<String> getCandidateKeys(Block shapedBlock) {
+        Identifier blockId = Registries.BLOCK.getId(shapedBlock);
+        Set<String> keys = new LinkedHashSet<>();
+
+        Identifier customFullBlockId = UnslabConfigStore.resolveCustomMapping(blockId);
+        if (customFullBlockId != null) {
+            keys.add(customFullBlockId.getPath());
         }
 
-        return null;
+        keys.addAll(resolver.getCandidateKeys(blockId.getPath(), BlockShape.of(shapedBlock).getSuffix()));
+
+        return keys;
     }
 
-    private static Block tryPluralizationAcrossNamespaces(String baseName) {
-        String[] components = baseName.split("_");
+    private static void indexBlock(Block block) {
+        if (isValidBlock(block)) {
+            Identifier blockId = Registries.BLOCK.getId(block);
+            resolver.add(blockId.getNamespace(), blockId.getPath(), block);
+        }
+    }
 
-        for (int i = 0; i < components.length; i++) {
-            String[] modifiedComponents = components.clone();
-            modifiedComponents[i] = components[i] + "s";
+    private static Block resolveShapedBlock(Block shapedBlock) {
+        return resolution.resolve(shapedBlock);
+    }
 
-            String pluralizedName = String.join("_", modifiedComponents);
-            Block block = searchAllNamespacesForExactBlock(pluralizedName);
+    private static void addMapping(Block shapedBlock, Block fullBlock) {
+        Block previousFullBlock = slabToBlockMap.put(shapedBlock, fullBlock);
+        if (previousFullBlock != null) {
+            changedFullBlocks.add(previousFullBlock);
+        }
 
-            if (block != null) {
-                return block;
-            }
+        changedFullBlocks.add(fullBlock);
+        mappingVersion++;
+    }
+
+    private static void removeMapping(Block shapedBlock) {
+        Block previousFullBlock = slabToBlockMap.remove(shapedBlock);
+        if (previousFullBlock != null) {
+            changedFullBlocks.add(previousFullBlock);
+            mappingVersion++;
         }
+    }
 
-        for (int i = 0; i < components.length; i++) {
-            for (int j = i + 1; j < components.length; j++) {
-                String[] modifiedComponents = components.clone();
-                modifiedComponents[i] = components[i] + "s";
-                modifiedComponents[j] = components[j] + "s";
+    private static boolean isValidBlock(Block block) {
+        return resolution.isValid(block);
+    }
 
-                String pluralizedName = String.join("_", modifiedComponents);
-                Block block = searchAllNamespacesForExactBlock(pluralizedName);
+    public static synchronized Map<Block, Block> getSlabToBlockMap() {
+        ensureResolved();
 
-                if (block != null) {
-                    return block;
-                }
-            }
+        return slabToBlockView;
+    }
+
+    public static synchronized void ensureResolved() {
+        if (!resolved) {
+            resolveAll();
+        } else {
+            flushLookup();
         }
+    }
 
-        return null;
+    // Read-only views for reporting, which must not trigger a resolution on their own
+    public static synchronized boolean isResolved() {
+        return resolved;
     }
 
-    private static void addMapping(SlabBlock slabBlock, Block fullBlock) {
-        slabToBlockMap.put(slabBlock, fullBlock);
+    public static synchronized int getMappingCount() {
+        return slabToBlockMap.size();
     }
 
-    private static boolean isValidBlock(Block block) {
-        Identifier blockId = Registries.BLOCK.getId(block);
-        
-        return block != null && !blockId.getPath().equals("air");
+    public static synchronized int getMappingVersion() {
+        return mappingVersion;
     }
 
-    public static Map<Block, Block> getSlabToBlockMap() {
-        return slabToBlockMap;
+    public static synchronized Set<Block> drainChangedFullBlocks() {
+        Set<Block> drained = new HashSet<>(changedFullBlocks);
+        changedFullBlocks.clear();
+
+        return drained;
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.dooji.unslab;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UnslabMappingCache {
+    private static final int MAGIC = 0x554E534C;
+    private static final int FORMAT_VERSION = 2;
+    private static final int FINGERPRINT_LENGTH = 32;
+    private static final File cacheFile = new File("config/Unslab/mapping-cache.bin");
+
+    public static byte[] computeFingerprint(File customMappingsFile) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        digest.update((byte) FORMAT_VERSION);
+        digest.update(UnslabConfig.getShapes().toString().getBytes(StandardCharsets.UTF_8));
+
+        for (Block block : Registries.BLOCK) {
+            Identifier blockId = Registries.BLOCK.getId(block);
+            digest.update(blockId.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+
+        List<ModMetadata> mods = FabricLoader.getInstance().getAllMods().stream()
+                .map(ModContainer::getMetadata)
+                .sorted(Comparator.comparing(ModMetadata::getId))
+                .toList();
+
+        for (ModMetadata mod : mods) {
+            digest.update((mod.getId() + "@" + mod.getVersion().getFriendlyString() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        if (customMappingsFile.exists()) {
+            try {
+                digest.update(Files.readAllBytes(customMappingsFile.toPath()));
+            } catch (IOException e) {
+                Unslab.LOGGER.warn("[Unslab] Failed to read {} for the mapping fingerprint", customMappingsFile, e);
+                digest.update((byte) 0xFF);
+            }
+        }
+
+        return digest.digest();
+    }
+
+    public static Map<Block, Block> load(byte[] fingerprint) {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readUnsignedByte() != FORMAT_VERSION) {
+                return null;
+            }
+
+            byte[] storedFingerprint = new byte[FINGERPRINT_LENGTH];
+            input.readFully(storedFingerprint);
+
+            if (!Arrays.equals(storedFingerprint, fingerprint)) {
+                return null;
+            }
+
+            int count = readVarInt(input);
+            Map<Block, Block> mappings = new HashMap<>(count * 2);
+
+            for (int i = 0; i < count; i++) {
+                Block slab = Registries.BLOCK.get(readVarInt(input));
+                Block fullBlock = Registries.BLOCK.get(readVarInt(input));
+
+                if (slab == null || fullBlock == null) {
+                    return null;
+                }
+
+                mappings.put(slab, fullBlock);
+            }
+
+            return mappings;
+        } catch (IOException e) {
+            Unslab.LOGGER.warn("[Unslab] Failed to read mapping cache from {}", cacheFile, e);
+            return null;
+        }
+    }
+
+    public static void save(byte[] fingerprint, Map<Block, Block> mappings) {
+        cacheFile.getParentFile().mkdirs();
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(FORMAT_VERSION);
+            output.write(fingerprint);
+            writeVarInt(output, mappings.size());
+
+            for (Map.Entry<Block, Block> entry : mappings.entrySet()) {
+                writeVarInt(output, Registries.BLOCK.getRawId(entry.getKey()));
+                writeVarInt(output, Registries.BLOCK.getRawId(entry.getValue()));
+            }
+        } catch (IOException e) {
+            Unslab.LOGGER.warn("[Unslab] Failed to write mapping cache to {}", cacheFile, e);
+        }
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int current;
+
+        do {
+            if (shift >= 35) {
+                throw new IOException("VarInt is too long");
+            }
+
+            current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return value;
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        output.writeByte(value);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dooji.unslab;
+
+public interface UnslabRecipeManager {
+    void unslab$refreshGeneratedRecipes();
+
+    SlabRecipeLookup unslab$getSlabRecipeLookup();
+}
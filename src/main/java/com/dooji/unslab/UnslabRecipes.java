@@ -0,0 +1,206 @@
+package com.dooji.unslab;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import net.minecraft.block.Block;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.RawShapedRecipe;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.book.CraftingRecipeCategory;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UnslabRecipes {
+    private static final Map<Block, List<RecipeEntry<ShapedRecipe>>> recipesByFullBlock = new HashMap<>();
+    private static List<RecipeEntry<ShapedRecipe>> cachedRecipes = List.of();
+    private static SlabRecipeLookup cachedLookup = SlabRecipeLookup.EMPTY;
+    private static int cachedVersion = -1;
+
+    public static synchronized List<RecipeEntry<ShapedRecipe>> getRecipes() {
+        UnslabMapping.getSlabToBlockMap();
+        int version = UnslabMapping.getMappingVersion();
+
+        if (version != cachedVersion) {
+            Set<Block> changedFullBlocks = UnslabMapping.drainChangedFullBlocks();
+            for (Block fullBlock : changedFullBlocks) {
+                updateRecipe(fullBlock);
+            }
+
+            List<RecipeEntry<ShapedRecipe>> recipes = new ArrayList<>();
+            for (List<RecipeEntry<ShapedRecipe>> fullBlockRecipes : recipesByFullBlock.values()) {
+                recipes.addAll(fullBlockRecipes);
+            }
+
+            recipes.sort(Comparator.comparing(RecipeEntry::id));
+
+            cachedRecipes = List.copyOf(recipes);
+            cachedLookup = SlabRecipeLookup.of(cachedRecipes);
+            cachedVersion = version;
+        }
+
+        return cachedRecipes;
+    }
+
+    public static synchronized SlabRecipeLookup getSlabLookup() {
+        getRecipes();
+
+        return cachedLookup;
+    }
+
+    private static void updateRecipe(Block fullBlock) {
+        recipesByFullBlock.remove(fullBlock);
+        if (!hasItem(fullBlock)) {
+            return;
+        }
+
+        Map<BlockShape, List<Block>> blocksByShape = new EnumMap<>(BlockShape.class);
+        for (Block shapedBlock : UnslabLookup.get().slabsFor(fullBlock)) {
+            BlockShape shape = BlockShape.of(shapedBlock);
+
+            if (shape != null && hasItem(shapedBlock)) {
+                blocksByShape.computeIfAbsent(shape, key -> new ArrayList<>()).add(shapedBlock);
+            }
+        }
+
+        if (blocksByShape.isEmpty()) {
+            return;
+        }
+
+        List<RecipeEntry<ShapedRecipe>> fullBlockRecipes = new ArrayList<>();
+        blocksByShape.forEach((shape, shapedBlocks) -> {
+            switch (UnslabConfig.getRecipeMode()) {
+                case PER_SLAB -> {
+                    // Each shaped block gets its own recipe, so the ID names both ends to keep them apart
+                    for (Block shapedBlock : shapedBlocks) {
+                        Identifier craftingId = getRecipeId(fullBlock, shapedBlock);
+                        fullBlockRecipes.add(new RecipeEntry<>(craftingId, createCraftingRecipe(shape, List.of(shapedBlock), fullBlock)));
+                    }
+                }
+                case CONSOLIDATED -> {
+                    Identifier craftingId = getRecipeId(fullBlock, shape);
+                    fullBlockRecipes.add(new RecipeEntry<>(craftingId, createCraftingRecipe(shape, shapedBlocks, fullBlock)));
+                }
+            }
+        });
+
+        recipesByFullBlock.put(fullBlock, fullBlockRecipes);
+    }
+
+    public static InjectedRecipes inject(Map<Identifier, RecipeEntry<?>> recipesById, Set<Identifier> previouslyInjectedIds, List<RecipeEntry<ShapedRecipe>> recipes) {
+        Map<Identifier, RecipeEntry<?>> byId = new LinkedHashMap<>(recipesById);
+        byId.keySet().removeAll(previouslyInjectedIds);
+
+        RecipeConflictIndex conflictIndex = RecipeConflictIndex.of(byId.values());
+        if (!conflictIndex.getUncheckedTags().isEmpty()) {
+            Unslab.LOGGER.warn("[Unslab] Could not check recipes using unbound item tag(s) for conflicts: {}", conflictIndex.getUncheckedTags());
+        }
+
+        boolean skipConflicts = UnslabConfig.getConflictPolicy() == UnslabConfig.ConflictPolicy.SKIP;
+        List<RecipeEntry<ShapedRecipe>> injectedRecipes = new ArrayList<>(recipes.size());
+        Set<Identifier> injectedIds = new HashSet<>(recipes.size());
+
+        for (RecipeEntry<ShapedRecipe> recipe : recipes) {
+            Identifier conflictingId = conflictIndex.findConflict(recipe);
+            if (conflictingId != null) {
+                Unslab.LOGGER.warn("[Unslab] Generated recipe {} conflicts with {}{}", recipe.id(), conflictingId, skipConflicts ? ", skipping it" : "");
+
+                if (skipConflicts) {
+                    continue;
+                }
+            }
+
+            byId.put(recipe.id(), recipe);
+            injectedIds.add(recipe.id());
+            injectedRecipes.add(recipe);
+        }
+
+        ImmutableMultimap.Builder<RecipeType<?>, RecipeEntry<?>> byType = ImmutableMultimap.builder();
+        for (RecipeEntry<?> recipe : byId.values()) {
+            byType.put(recipe.value().getType(), recipe);
+        }
+
+        return new InjectedRecipes(byType.build(), ImmutableMap.copyOf(byId), injectedIds, injectedRecipes);
+    }
+
+    public static ShapedRecipe createCraftingRecipe(List<Block> slabs, Block fullBlock) {
+        return createCraftingRecipe(BlockShape.SLAB, slabs, fullBlock);
+    }
+
+    public static ShapedRecipe createCraftingRecipe(BlockShape shape, List<Block> shapedBlocks, Block fullBlock) {
+        Ingredient shapeIngredient = Ingredient.ofItems(shapedBlocks.toArray(new Block[0]));
+        RawShapedRecipe pattern = RawShapedRecipe.create(Map.of('S', shapeIngredient), shape.getPattern());
+        ItemStack result = new ItemStack(fullBlock, shape.getResultCount());
+
+        if (UnslabConfig.getRecipeBookMode() == UnslabConfig.RecipeBookMode.HIDDEN) {
+            return new HiddenShapedRecipe(pattern, result);
+        }
+
+        return new ShapedRecipe("", CraftingRecipeCategory.MISC, pattern, result);
+    }
+
+    public static Collection<RecipeEntry<?>> getSyncedRecipes(Collection<RecipeEntry<?>> recipes) {
+        if (UnslabConfig.getRecipeBookMode() != UnslabConfig.RecipeBookMode.HIDDEN) {
+            return recipes;
+        }
+
+        // The server computes crafting results itself, so clients only need these for the recipe book
+        return recipes.stream().filter(recipe -> !isGeneratedRecipe(recipe)).toList();
+    }
+
+    public static boolean isGeneratedRecipe(RecipeEntry<?> recipe) {
+        return recipe.id().getNamespace().equals(Unslab.MOD_ID);
+    }
+
+    private static Identifier getRecipeId(Block fullBlock, BlockShape shape) {
+        String fullBlockPath = Registries.ITEM.getId(fullBlock.asItem()).toString().replace(':', '_');
+
+        return Identifier.of(Unslab.MOD_ID, "crafting/" + fullBlockPath + shape.getRecipeSuffix());
+    }
+
+    private static Identifier getRecipeId(Block fullBlock, Block shapedBlock) {
+        String fullBlockPath = Registries.ITEM.getId(fullBlock.asItem()).toString().replace(':', '_');
+        String shapedBlockPath = Registries.ITEM.getId(shapedBlock.asItem()).toString().replace(':', '_');
+
+        return Identifier.of(Unslab.MOD_ID, "crafting/" + fullBlockPath + "_from_" + shapedBlockPath);
+    }
+
+    private static boolean hasItem(Block block) {
+        if (block == null || block.asItem() == Items.AIR) {
+            return false;
+        }
+
+        Identifier blockId = Registries.BLOCK.getId(block);
+        return !blockId.getPath().equals("air");
+    }
+
+    private static class HiddenShapedRecipe extends ShapedRecipe {
+        HiddenShapedRecipe(RawShapedRecipe pattern, ItemStack result) {
+            super("", CraftingRecipeCategory.MISC, pattern, result);
+        }
+
+        // Ignored recipes are never unlocked per player and stay craftable with doLimitedCrafting
+        @Override
+        public boolean isIgnoredInRecipeBook() {
+            return true;
+        }
+    }
+
+    public record InjectedRecipes(Multimap<RecipeType<?>, RecipeEntry<?>> recipesByType, Map<Identifier, RecipeEntry<?>> recipesById, Set<Identifier> injectedIds, List<RecipeEntry<ShapedRecipe>> recipes) {
+    }
+}
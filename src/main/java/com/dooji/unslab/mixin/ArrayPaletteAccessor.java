@@ -0,0 +1,12 @@
+package com.dooji.unslab.mixin;
+
+import net.minecraft.world.chunk.ArrayPalette;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(ArrayPalette.class)
+public interface ArrayPaletteAccessor<T> {
+    @Accessor("array")
+    T[] unslab$getArray();
+}
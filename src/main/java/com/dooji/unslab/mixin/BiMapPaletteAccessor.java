@@ -0,0 +1,13 @@
+package com.dooji.unslab.mixin;
+
+import net.minecraft.util.collection.Int2ObjectBiMap;
+import net.minecraft.world.chunk.BiMapPalette;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(BiMapPalette.class)
+public interface BiMapPaletteAccessor<T> {
+    @Accessor("map")
+    Int2ObjectBiMap<T> unslab$getMap();
+}
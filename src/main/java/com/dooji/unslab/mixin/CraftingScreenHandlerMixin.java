@@ -0,0 +1,42 @@
+package com.dooji.unslab.mixin;
+
+import com.dooji.unslab.SlabBulkCrafting;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.CraftingResultInventory;
+import net.minecraft.inventory.RecipeInputInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.CraftingRecipe;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.screen.AbstractRecipeScreenHandler;
+import net.minecraft.screen.CraftingScreenHandler;
+import net.minecraft.screen.ScreenHandlerType;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(CraftingScreenHandler.class)
+public abstract class CraftingScreenHandlerMixin extends AbstractRecipeScreenHandler<CraftingRecipeInput, CraftingRecipe> {
+    @Shadow
+    @Final
+    private RecipeInputInventory input;
+
+    @Shadow
+    @Final
+    private CraftingResultInventory result;
+
+    protected CraftingScreenHandlerMixin(ScreenHandlerType<?> type, int syncId) {
+        super(type, syncId);
+    }
+
+    @Inject(method = "quickMove", at = @At("HEAD"), cancellable = true)
+    private void craftSlabsInBulk(PlayerEntity player, int slot, CallbackInfoReturnable<ItemStack> cir) {
+        if (slot == 0 && SlabBulkCrafting.tryCraftAll(player, this.input, this.result, stack -> this.insertItem(stack, 10, 46, true))) {
+            cir.setReturnValue(ItemStack.EMPTY);
+        }
+    }
+}
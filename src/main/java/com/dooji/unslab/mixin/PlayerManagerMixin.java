@@ -0,0 +1,21 @@
+package com.dooji.unslab.mixin;
+
+import com.dooji.unslab.UnslabRecipes;
+
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.server.PlayerManager;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+
+import java.util.Collection;
+
+@Mixin(PlayerManager.class)
+public abstract class PlayerManagerMixin {
+    // Filtered where the server builds the packet, the constructor itself also runs on the client when decoding
+    @ModifyArg(method = {"onPlayerConnect", "onDataPacksReloaded"}, at = @At(value = "INVOKE", target = "Lnet/minecraft/network/packet/s2c/play/SynchronizeRecipesS2CPacket;<init>(Ljava/util/Collection;)V"))
+    private Collection<RecipeEntry<?>> skipGeneratedRecipes(Collection<RecipeEntry<?>> recipes) {
+        return UnslabRecipes.getSyncedRecipes(recipes);
+    }
+}
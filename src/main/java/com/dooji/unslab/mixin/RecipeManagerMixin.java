@@ -1,78 +1,98 @@
 package com.dooji.unslab.mixin;
 
-import com.dooji.unslab.UnslabMapping;
-import com.google.gson.JsonArray;
+import com.dooji.unslab.SlabRecipeLookup;
+import com.dooji.unslab.UnslabConfig;
+import com.dooji.unslab.UnslabRecipeManager;
+import com.dooji.unslab.UnslabRecipes;
+import com.dooji.unslab.stats.RecipeInjectionEvent;
+import com.dooji.unslab.stats.UnslabStats;
+import com.google.common.collect.Multimap;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 
-import net.minecraft.block.Block;
+import net.minecraft.recipe.RecipeEntry;
 import net.minecraft.recipe.RecipeManager;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.recipe.input.RecipeInput;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
-import net.minecraft.registry.Registries;
+import net.minecraft.world.World;
 
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Mixin(RecipeManager.class)
-public abstract class RecipeManagerMixin {
-    @Inject(method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V", at = @At("HEAD"))
-    private void injectCustomRecipes(Map<Identifier, JsonElement> recipeMap, ResourceManager resourceManager, Profiler profiler, CallbackInfo ci) {
-        UnslabMapping.getSlabToBlockMap().forEach((slab, fullBlock) -> {
-            if (isValidBlock(slab) && isValidBlock(fullBlock)) {
-                String fullBlockPath = getItemIdentifier(fullBlock).replace(':', '_');
-                Identifier craftingId = Identifier.of("unslab", "crafting/" + fullBlockPath);
+public abstract class RecipeManagerMixin implements UnslabRecipeManager {
+    @Shadow
+    private Multimap<RecipeType<?>, RecipeEntry<?>> recipesByType;
 
-                recipeMap.put(craftingId, createCraftingRecipe(slab, fullBlock));
-            }
-        });
-    }
+    @Shadow
+    private Map<Identifier, RecipeEntry<?>> recipesById;
 
     @Unique
-    private JsonObject createCraftingRecipe(Block slab, Block fullBlock) {
-        JsonObject recipe = new JsonObject();
-        recipe.addProperty("type", "minecraft:crafting_shaped");
+    private SlabRecipeLookup slabRecipeLookup = SlabRecipeLookup.EMPTY;
 
-        JsonArray pattern = new JsonArray();
-        pattern.add("S");
-        pattern.add("S");
-        recipe.add("pattern", pattern);
+    @Unique
+    private Set<Identifier> injectedRecipeIds = Set.of();
 
-        JsonObject key = new JsonObject();
+    @Inject(method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V", at = @At("RETURN"))
+    private void injectCustomRecipes(Map<Identifier, JsonElement> recipeMap, ResourceManager resourceManager, Profiler profiler, CallbackInfo ci) {
+        this.injectedRecipeIds = Set.of();
 
-        JsonObject slabJson = new JsonObject();
-        slabJson.addProperty("item", getItemIdentifier(slab));
-        key.add("S", slabJson);
-        recipe.add("key", key);
+        // Static recipes from a generated datapack are already part of recipeMap
+        if (UnslabConfig.isRuntimeRecipesEnabled()) {
+            this.unslab$refreshGeneratedRecipes();
+        }
+    }
 
-        JsonObject result = new JsonObject();
-        result.addProperty("id", getItemIdentifier(fullBlock));
-        result.addProperty("Count", 1);
-        recipe.add("result", result);
+    @Override
+    public void unslab$refreshGeneratedRecipes() {
+        RecipeInjectionEvent event = UnslabStats.beginRecipeInjection();
+        long start = System.nanoTime();
 
-        return recipe;
-    }
+        List<RecipeEntry<ShapedRecipe>> recipes = UnslabRecipes.getRecipes();
+        this.slabRecipeLookup = UnslabRecipes.getSlabLookup();
 
-    @Unique
-    private String getItemIdentifier(Block block) {
-        Identifier itemId = Registries.ITEM.getId(block.asItem());
+        if (!recipes.isEmpty() || !this.injectedRecipeIds.isEmpty()) {
+            UnslabRecipes.InjectedRecipes injected = UnslabRecipes.inject(this.recipesById, this.injectedRecipeIds, recipes);
+            this.recipesByType = injected.recipesByType();
+            this.recipesById = injected.recipesById();
+            this.injectedRecipeIds = injected.injectedIds();
+
+            if (injected.recipes().size() != recipes.size()) {
+                this.slabRecipeLookup = SlabRecipeLookup.of(injected.recipes());
+            }
+        }
 
-        return itemId.toString();
+        UnslabStats.endRecipeInjection(event, System.nanoTime() - start, recipes.size());
     }
 
-    @Unique
-    private boolean isValidBlock(Block block) {
-        if (block == null || block.asItem() == null) {
-            return false;
+    @Override
+    public SlabRecipeLookup unslab$getSlabRecipeLookup() {
+        return this.slabRecipeLookup;
+    }
+
+    @Inject(method = "getFirstMatch(Lnet/minecraft/recipe/RecipeType;Lnet/minecraft/recipe/input/RecipeInput;Lnet/minecraft/world/World;Lnet/minecraft/recipe/RecipeEntry;)Ljava/util/Optional;", at = @At("HEAD"), cancellable = true)
+    private void matchSlabRecipes(RecipeType<?> type, RecipeInput input, World world, RecipeEntry<?> recipe, CallbackInfoReturnable<Optional<RecipeEntry<?>>> cir) {
+        if (type != RecipeType.CRAFTING || !(input instanceof CraftingRecipeInput craftingInput) || this.slabRecipeLookup.isEmpty()) {
+            return;
         }
 
-        Identifier blockId = Registries.BLOCK.getId(block);
-        return !blockId.getPath().equals("air");
+        RecipeEntry<ShapedRecipe> slabRecipe = this.slabRecipeLookup.match(craftingInput);
+        if (slabRecipe != null) {
+            cir.setReturnValue(Optional.of(slabRecipe));
+        }
     }
-}
\ No newline at end of file
+}
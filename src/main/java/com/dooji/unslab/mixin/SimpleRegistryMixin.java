@@ -0,0 +1,22 @@
+package com.dooji.unslab.mixin;
+
+import com.dooji.unslab.UnslabMapping;
+
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.SimpleRegistry;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(SimpleRegistry.class)
+public abstract class SimpleRegistryMixin<T> {
+    @Inject(method = "freeze", at = @At("RETURN"))
+    private void resolveSlabsOnFreeze(CallbackInfoReturnable<Registry<T>> cir) {
+        if ((Object) this == Registries.BLOCK) {
+            UnslabMapping.onBlockRegistryFrozen();
+        }
+    }
+}
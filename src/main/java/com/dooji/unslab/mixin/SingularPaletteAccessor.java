@@ -0,0 +1,12 @@
+package com.dooji.unslab.mixin;
+
+import net.minecraft.world.chunk.SingularPalette;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(SingularPalette.class)
+public interface SingularPaletteAccessor<T> {
+    @Accessor("entry")
+    void unslab$setEntry(T entry);
+}
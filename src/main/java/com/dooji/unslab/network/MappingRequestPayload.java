@@ -0,0 +1,21 @@
+package com.dooji.unslab.network;
+
+import com.dooji.unslab.Unslab;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+public record MappingRequestPayload(byte[] fingerprint) implements CustomPayload {
+    public static final CustomPayload.Id<MappingRequestPayload> ID = new CustomPayload.Id<>(Identifier.of(Unslab.MOD_ID, "mapping_request"));
+    public static final PacketCodec<PacketByteBuf, MappingRequestPayload> CODEC = PacketCodec.tuple(
+            PacketCodecs.BYTE_ARRAY, MappingRequestPayload::fingerprint,
+            MappingRequestPayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
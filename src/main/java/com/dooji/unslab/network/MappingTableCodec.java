@@ -0,0 +1,76 @@
+package com.dooji.unslab.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.block.Block;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registries;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MappingTableCodec {
+    public static byte[] encode(Map<Block, Block> mappings) {
+        int[][] pairs = new int[mappings.size()][];
+        int index = 0;
+
+        for (Map.Entry<Block, Block> entry : mappings.entrySet()) {
+            pairs[index++] = new int[]{Registries.BLOCK.getRawId(entry.getKey()), Registries.BLOCK.getRawId(entry.getValue())};
+        }
+
+        Arrays.sort(pairs, (first, second) -> Integer.compare(first[0], second[0]));
+
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer(pairs.length * 3 + 5));
+        buf.writeVarInt(pairs.length);
+
+        int previousSlab = 0;
+        for (int[] pair : pairs) {
+            buf.writeVarInt(pair[0] - previousSlab);
+            buf.writeVarInt(zigzag(pair[1] - pair[0]));
+            previousSlab = pair[0];
+        }
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    public static Map<Block, Block> decode(byte[] bytes) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.wrappedBuffer(bytes));
+        int count = buf.readVarInt();
+        Map<Block, Block> mappings = new HashMap<>(count * 2);
+
+        int slabRawId = 0;
+        for (int i = 0; i < count; i++) {
+            slabRawId += buf.readVarInt();
+            int fullBlockRawId = slabRawId + unzigzag(buf.readVarInt());
+
+            Block slab = Registries.BLOCK.get(slabRawId);
+            Block fullBlock = Registries.BLOCK.get(fullBlockRawId);
+            if (slab != null && fullBlock != null) {
+                mappings.put(slab, fullBlock);
+            }
+        }
+
+        return mappings;
+    }
+
+    public static byte[] fingerprint(byte[] encodedTable) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(encodedTable);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.dooji.unslab.network;
+
+import com.dooji.unslab.Unslab;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+public record MappingTablePayload(byte[] fingerprint, byte[] table) implements CustomPayload {
+    public static final CustomPayload.Id<MappingTablePayload> ID = new CustomPayload.Id<>(Identifier.of(Unslab.MOD_ID, "mapping_table"));
+    public static final PacketCodec<PacketByteBuf, MappingTablePayload> CODEC = PacketCodec.tuple(
+            PacketCodecs.BYTE_ARRAY, MappingTablePayload::fingerprint,
+            PacketCodecs.BYTE_ARRAY, MappingTablePayload::table,
+            MappingTablePayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
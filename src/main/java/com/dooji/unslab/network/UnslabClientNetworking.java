@@ -0,0 +1,65 @@
+package com.dooji.unslab.network;
+
+import com.dooji.unslab.Unslab;
+import com.dooji.unslab.UnslabConfigIO;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.block.Block;
+import net.minecraft.client.MinecraftClient;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+
+public class UnslabClientNetworking {
+    private static final Path cacheDirectory = Path.of("config/Unslab/server-mappings");
+
+    private static volatile Map<Block, Block> serverMappings;
+    private static byte[] expectedFingerprint;
+
+    public static void initialize() {
+        ClientPlayNetworking.registerGlobalReceiver(MappingFingerprintPayload.ID, (payload, context) -> onFingerprint(context.client(), payload.fingerprint()));
+        ClientPlayNetworking.registerGlobalReceiver(MappingTablePayload.ID, (payload, context) -> onTable(payload.fingerprint(), payload.table()));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            serverMappings = null;
+            expectedFingerprint = null;
+        });
+    }
+
+    public static Map<Block, Block> getServerMappings() {
+        return serverMappings;
+    }
+
+    private static void onFingerprint(MinecraftClient client, byte[] fingerprint) {
+        expectedFingerprint = fingerprint;
+
+        UnslabConfigIO.readAsync(getCachePath(fingerprint)).thenAcceptAsync(cached -> {
+            if (!Arrays.equals(fingerprint, expectedFingerprint)) {
+                return;
+            }
+
+            if (cached != null && Arrays.equals(MappingTableCodec.fingerprint(cached), fingerprint)) {
+                serverMappings = Map.copyOf(MappingTableCodec.decode(cached));
+                Unslab.LOGGER.info("[Unslab] Using cached server mappings ({} entries).", serverMappings.size());
+            } else {
+                ClientPlayNetworking.send(new MappingRequestPayload(fingerprint));
+            }
+        }, client);
+    }
+
+    private static void onTable(byte[] fingerprint, byte[] table) {
+        if (!Arrays.equals(fingerprint, expectedFingerprint) || !Arrays.equals(MappingTableCodec.fingerprint(table), fingerprint)) {
+            Unslab.LOGGER.warn("[Unslab] Ignoring a server mapping table that does not match the announced fingerprint");
+            return;
+        }
+
+        serverMappings = Map.copyOf(MappingTableCodec.decode(table));
+        UnslabConfigIO.writeAsync(getCachePath(fingerprint), table);
+        Unslab.LOGGER.info("[Unslab] Received server mappings ({} entries, {} bytes).", serverMappings.size(), table.length);
+    }
+
+    private static Path getCachePath(byte[] fingerprint) {
+        return cacheDirectory.resolve(HexFormat.of().formatHex(fingerprint) + ".bin");
+    }
+}
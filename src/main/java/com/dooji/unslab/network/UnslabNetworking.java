@@ -0,0 +1,60 @@
+package com.dooji.unslab.network;
+
+import com.dooji.unslab.UnslabConfig;
+import com.dooji.unslab.UnslabMapping;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Arrays;
+
+public class UnslabNetworking {
+    private static ServerTable serverTable;
+
+    public static void initialize() {
+        PayloadTypeRegistry.playS2C().register(MappingFingerprintPayload.ID, MappingFingerprintPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(MappingTablePayload.ID, MappingTablePayload.CODEC);
+        PayloadTypeRegistry.playC2S().register(MappingRequestPayload.ID, MappingRequestPayload.CODEC);
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> sendFingerprint(server, handler.player));
+        ServerPlayNetworking.registerGlobalReceiver(MappingRequestPayload.ID, (payload, context) -> {
+            ServerTable table = getServerTable();
+
+            // A stale request means the table changed in between; the newer fingerprint is already on its way
+            if (Arrays.equals(payload.fingerprint(), table.fingerprint())) {
+                ServerPlayNetworking.send(context.player(), new MappingTablePayload(table.fingerprint(), table.encoded()));
+            }
+        });
+    }
+
+    public static void broadcastFingerprint(MinecraftServer server) {
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            sendFingerprint(server, player);
+        }
+    }
+
+    private static void sendFingerprint(MinecraftServer server, ServerPlayerEntity player) {
+        // The host of an integrated server shares our mapping state already, and servers
+        // running from a generated datapack have no runtime table to announce
+        if (!UnslabConfig.isRuntimeRecipesEnabled() || server.isHost(player.getGameProfile()) || !ServerPlayNetworking.canSend(player, MappingFingerprintPayload.ID)) {
+            return;
+        }
+
+        ServerPlayNetworking.send(player, new MappingFingerprintPayload(getServerTable().fingerprint()));
+    }
+
+    private static synchronized ServerTable getServerTable() {
+        int version = UnslabMapping.getMappingVersion();
+        if (serverTable == null || serverTable.version() != version) {
+            byte[] encoded = MappingTableCodec.encode(UnslabMapping.getSlabToBlockMap());
+            serverTable = new ServerTable(version, MappingTableCodec.fingerprint(encoded), encoded);
+        }
+
+        return serverTable;
+    }
+
+    private record ServerTable(int version, byte[] fingerprint, byte[] encoded) {
+    }
+}
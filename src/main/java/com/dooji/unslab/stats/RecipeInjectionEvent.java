@@ -0,0 +1,16 @@
+package com.dooji.unslab.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dooji.unslab.RecipeInjection")
+@Label("Unslab Recipe Injection")
+@Category("Unslab")
+@StackTrace(false)
+public class RecipeInjectionEvent extends Event {
+    @Label("Generated Recipes")
+    public int recipeCount;
+}
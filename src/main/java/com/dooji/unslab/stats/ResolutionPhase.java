@@ -0,0 +1,19 @@
+package com.dooji.unslab.stats;
+
+public enum ResolutionPhase {
+    CUSTOM("custom"),
+    PLANKS("planks"),
+    EXACT("exact"),
+    NORMALIZED("normalized"),
+    ALIAS("alias");
+
+    private final String label;
+
+    ResolutionPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
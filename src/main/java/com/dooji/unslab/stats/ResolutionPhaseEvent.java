@@ -0,0 +1,30 @@
+package com.dooji.unslab.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.dooji.unslab.ResolutionPhase")
+@Label("Unslab Resolution Phase")
+@Category("Unslab")
+@StackTrace(false)
+public class ResolutionPhaseEvent extends Event {
+    @Label("Phase")
+    public String phase;
+
+    @Label("Phase Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long phaseTime;
+
+    @Label("Registry Lookups")
+    public long lookups;
+
+    @Label("Hits")
+    public long hits;
+
+    @Label("Misses")
+    public long misses;
+}
@@ -0,0 +1,125 @@
+package com.dooji.unslab.stats;
+
+import jdk.jfr.EventType;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class UnslabStats {
+    private static final PhaseCounter[] phaseCounters = new PhaseCounter[ResolutionPhase.values().length];
+    private static final AtomicLong lastInjectionNanos = new AtomicLong();
+    private static final AtomicLong lastInjectionRecipes = new AtomicLong();
+    private static final LongAdder injectionCount = new LongAdder();
+    private static volatile long resolutionNanos = 0;
+    private static volatile boolean loadedFromCache = false;
+    private static volatile boolean phaseTracking = false;
+
+    static {
+        for (ResolutionPhase phase : ResolutionPhase.values()) {
+            phaseCounters[phase.ordinal()] = new PhaseCounter();
+        }
+    }
+
+    // Per-phase timing costs two clock reads and four counter updates per block and phase, so it only runs
+    // when the phaseStats setting asks for it or a JFR recording has the phase event enabled
+    public static void updatePhaseTracking(boolean requested) {
+        phaseTracking = requested || EventType.getEventType(ResolutionPhaseEvent.class).isEnabled();
+    }
+
+    public static boolean isPhaseTrackingEnabled() {
+        return phaseTracking;
+    }
+
+    public static void recordPhase(ResolutionPhase phase, long nanos, int lookups, boolean hit) {
+        PhaseCounter counter = phaseCounters[phase.ordinal()];
+        counter.nanos.add(nanos);
+        counter.lookups.add(lookups);
+
+        if (hit) {
+            counter.hits.increment();
+        } else {
+            counter.misses.increment();
+        }
+    }
+
+    public static void recordResolution(long nanos, boolean fromCache) {
+        resolutionNanos = nanos;
+        loadedFromCache = fromCache;
+
+        for (ResolutionPhase phase : ResolutionPhase.values()) {
+            PhaseCounter counter = phaseCounters[phase.ordinal()];
+
+            ResolutionPhaseEvent event = new ResolutionPhaseEvent();
+            if (event.shouldCommit()) {
+                event.phase = phase.getLabel();
+                event.phaseTime = counter.nanos.sum();
+                event.lookups = counter.lookups.sum();
+                event.hits = counter.hits.sum();
+                event.misses = counter.misses.sum();
+                event.commit();
+            }
+        }
+    }
+
+    public static RecipeInjectionEvent beginRecipeInjection() {
+        RecipeInjectionEvent event = new RecipeInjectionEvent();
+        event.begin();
+
+        return event;
+    }
+
+    public static void endRecipeInjection(RecipeInjectionEvent event, long nanos, int recipeCount) {
+        lastInjectionNanos.set(nanos);
+        lastInjectionRecipes.set(recipeCount);
+        injectionCount.increment();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.recipeCount = recipeCount;
+            event.commit();
+        }
+    }
+
+    public static long getPhaseNanos(ResolutionPhase phase) {
+        return phaseCounters[phase.ordinal()].nanos.sum();
+    }
+
+    public static long getPhaseLookups(ResolutionPhase phase) {
+        return phaseCounters[phase.ordinal()].lookups.sum();
+    }
+
+    public static long getPhaseHits(ResolutionPhase phase) {
+        return phaseCounters[phase.ordinal()].hits.sum();
+    }
+
+    public static long getPhaseMisses(ResolutionPhase phase) {
+        return phaseCounters[phase.ordinal()].misses.sum();
+    }
+
+    public static long getResolutionNanos() {
+        return resolutionNanos;
+    }
+
+    public static boolean isLoadedFromCache() {
+        return loadedFromCache;
+    }
+
+    public static long getLastInjectionNanos() {
+        return lastInjectionNanos.get();
+    }
+
+    public static long getLastInjectionRecipes() {
+        return lastInjectionRecipes.get();
+    }
+
+    public static long getInjectionCount() {
+        return injectionCount.sum();
+    }
+
+    private static class PhaseCounter {
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
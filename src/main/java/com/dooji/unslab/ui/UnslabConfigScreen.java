@@ -3,10 +3,9 @@ package com.dooji.unslab.ui;
 import com.dooji.omnilib.ui.OmniField;
 import com.dooji.omnilib.ui.OmniFieldListWidget;
 import com.dooji.omnilib.OmnilibClient;
+import com.dooji.unslab.UnslabConfigStore;
 import com.dooji.unslab.UnslabMapping;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.dooji.unslab.network.UnslabClientNetworking;
 import net.minecraft.block.Block;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -15,9 +14,6 @@ import net.minecraft.registry.Registries;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -28,9 +24,11 @@ public class UnslabConfigScreen extends Screen {
     private OmniField searchField;
     private OmniFieldListWidget fieldListWidget;
     private String searchQuery = "";
+    private List<SlabRow> rows;
+    private List<SlabRow> filteredRows = List.of();
+    private String filteredQuery = null;
     private final Map<Block, String> customMappings = new HashMap<>();
     private final Map<Block, Block> combinedMappings = new HashMap<>();
-    private final File configFile = new File("config/Unslab/custom-mappings.json");
 
     public UnslabConfigScreen(Screen parentScreen, String title) {
         super(Text.translatable(title));
@@ -121,48 +119,36 @@ public class UnslabConfigScreen extends Screen {
                 new ArrayList<>()
         );
 
-        mergeMappings();
+        this.filteredQuery = null;
         setFilteredItems();
         this.addSelectableChild(this.fieldListWidget);
     }
 
     private void loadCustomMappings() {
-        if (!configFile.exists()) {
-            return;
-        }
-
-        try (FileReader reader = new FileReader(configFile)) {
-            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-                Block slab = Registries.BLOCK.get(Identifier.of(entry.getKey()));
-                customMappings.put(slab, entry.getValue().getAsString());
+        UnslabConfigStore.getCustomMappings().forEach((slabId, fullBlockId) -> {
+            if (Registries.BLOCK.containsId(slabId)) {
+                customMappings.put(Registries.BLOCK.get(slabId), fullBlockId);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        });
     }
 
     private void saveCustomMappings() {
-        try {
-            JsonObject json = new JsonObject();
-            customMappings.forEach((slab, fullBlock) -> json.addProperty(
-                    Registries.BLOCK.getId(slab).toString(),
-                    fullBlock
-            ));
-
-            configFile.getParentFile().mkdirs();
-            try (FileWriter writer = new FileWriter(configFile)) {
-                writer.write(json.toString());
+        Map<Identifier, String> mappings = new LinkedHashMap<>();
+        UnslabConfigStore.getCustomMappings().forEach((slabId, fullBlockId) -> {
+            if (!Registries.BLOCK.containsId(slabId)) {
+                mappings.put(slabId, fullBlockId);
             }
+        });
 
-            this.client.setScreen(this.parentScreen);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        customMappings.forEach((slab, fullBlockId) -> mappings.put(Registries.BLOCK.getId(slab), fullBlockId));
+
+        UnslabConfigStore.update(mappings);
+        this.client.setScreen(this.parentScreen);
     }
 
     private void mergeMappings() {
-        combinedMappings.putAll(UnslabMapping.getSlabToBlockMap());
+        Map<Block, Block> serverMappings = UnslabClientNetworking.getServerMappings();
+        combinedMappings.putAll(serverMappings != null ? serverMappings : UnslabMapping.getSlabToBlockMap());
 
         customMappings.forEach((slab, fullBlockId) -> {
             Block fullBlock = Registries.BLOCK.get(Identifier.of(fullBlockId));
@@ -179,37 +165,48 @@ public class UnslabConfigScreen extends Screen {
     }
 
     private void setFilteredItems() {
-        String[] searchTokens = searchQuery.split("\\s+");
+        String[] searchTokens = searchQuery.isEmpty() ? new String[0] : searchQuery.split("\\s+");
+        List<SlabRow> candidates = filteredQuery != null && searchQuery.startsWith(filteredQuery) ? filteredRows : getRows();
 
-        List<Block> slabs = combinedMappings.keySet().stream()
-                .filter(block -> matchesSearch(block, searchTokens))
-                .collect(Collectors.toList());
+        List<SlabRow> matchingRows = new ArrayList<>(candidates.size());
+        for (SlabRow row : candidates) {
+            if (matchesSearch(row, searchTokens)) {
+                matchingRows.add(row);
+            }
+        }
 
-        List<ItemStack> itemStacks = slabs.stream()
-                .map(Block::asItem)
-                .map(ItemStack::new)
-                .collect(Collectors.toList());
+        this.filteredRows = matchingRows;
+        this.filteredQuery = searchQuery;
 
-        List<String> content = slabs.stream()
-                .map(slab -> Registries.BLOCK.getId(slab).getPath())
-                .collect(Collectors.toList());
+        List<ItemStack> itemStacks = new ArrayList<>(matchingRows.size());
+        List<String> content = new ArrayList<>(matchingRows.size());
+        List<OmniField> fields = new ArrayList<>(matchingRows.size());
 
-        List<OmniField> fields = slabs.stream()
-                .map(slab -> createOmniFieldForSlab(slab))
-                .collect(Collectors.toList());
+        // The Omnilib list takes every field up front, so the first unfiltered pass still builds one field per slab.
+        // Fields are kept on their rows, which makes later keystrokes reuse them instead of rebuilding the list.
+        for (SlabRow row : matchingRows) {
+            itemStacks.add(row.stack);
+            content.add(row.name);
+            fields.add(row.getField());
+        }
 
         this.fieldListWidget.setItemsWithFields(itemStacks, content, fields);
     }
 
-    private boolean matchesSearch(Block block, String[] searchTokens) {
-        if (searchTokens.length == 0) {
-            return true;
+    private List<SlabRow> getRows() {
+        if (rows == null) {
+            rows = combinedMappings.keySet().stream()
+                    .map(SlabRow::new)
+                    .sorted(Comparator.comparing((SlabRow row) -> row.name))
+                    .collect(Collectors.toList());
         }
 
-        String blockName = Registries.BLOCK.getId(block).getPath().toLowerCase();
+        return rows;
+    }
 
+    private boolean matchesSearch(SlabRow row, String[] searchTokens) {
         for (String token : searchTokens) {
-            if (!blockName.contains(token)) {
+            if (!row.searchName.contains(token)) {
                 return false;
             }
         }
@@ -285,4 +282,27 @@ public class UnslabConfigScreen extends Screen {
             this.fieldListWidget.render(context, mouseX, mouseY, delta);
         }
     }
-}
\ No newline at end of file
+
+    private class SlabRow {
+        private final Block slab;
+        private final String name;
+        private final String searchName;
+        private final ItemStack stack;
+        private OmniField field;
+
+        private SlabRow(Block slab) {
+            this.slab = slab;
+            this.name = Registries.BLOCK.getId(slab).getPath();
+            this.searchName = this.name.toLowerCase();
+            this.stack = new ItemStack(slab.asItem());
+        }
+
+        private OmniField getField() {
+            if (field == null) {
+                field = createOmniFieldForSlab(slab);
+            }
+
+            return field;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dooji.unslab;
+
+import com.dooji.unslab.fixture.SyntheticRegistry;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShapedBlockResolutionTest {
+    private static final int NAMESPACE_COUNT = 40;
+    private static final int SLAB_COUNT = 20_000;
+
+    @Test
+    void parallelResolutionMatchesSerialResolution() {
+        SyntheticRegistry registry = SyntheticRegistry.generate(NAMESPACE_COUNT, SLAB_COUNT, 42L);
+        SyntheticRegistry.Entry mappedSlab = registry.slabs().get(3);
+        SyntheticRegistry.Entry airSlab = registry.slabs().get(7);
+        SyntheticRegistry.Entry missingSlab = registry.slabs().get(11);
+
+        // Slabs 3, 7 and 11 have no full block of their own, so only a custom mapping can resolve them
+        CustomMappingRules rules = CustomMappingRules.compile(
+                Map.of(Identifier.of(mappedSlab.id()), toFiller(mappedSlab, 1),
+                        Identifier.of(airSlab.id()), "minecraft:air",
+                        Identifier.of(missingSlab.id()), missingSlab.namespace() + ":missing_block"),
+                Map.of("regex:mod0:(.*)_slab", "mod0:$1_filler0"));
+        List<String> slabIds = registry.slabIds();
+
+        ShapedBlockResolution.Result<String> serial = registry.buildResolution(rules::resolve)
+                .resolveAll(slabIds, UnslabConfig.ResolutionMode.SERIAL);
+        ShapedBlockResolution.Result<String> parallel = registry.buildResolution(rules::resolve)
+                .resolveAll(slabIds, UnslabConfig.ResolutionMode.PARALLEL);
+
+        assertEquals(new ArrayList<>(serial.mappings().entrySet()), new ArrayList<>(parallel.mappings().entrySet()));
+        assertEquals(serial.unresolved(), parallel.unresolved());
+
+        assertEquals(toFiller(mappedSlab, 1), serial.mappings().get(mappedSlab.id()));
+        assertTrue(serial.unresolved().contains(airSlab.id()));
+        assertTrue(serial.unresolved().contains(missingSlab.id()));
+
+        Set<SyntheticRegistry.Entry> exactSlabs = Set.of(mappedSlab, airSlab, missingSlab);
+        for (SyntheticRegistry.Entry slab : registry.slabs()) {
+            if (slab.namespace().equals("mod0") && !exactSlabs.contains(slab)) {
+                assertEquals(toFiller(slab, 0), serial.mappings().get(slab.id()));
+            }
+        }
+    }
+
+    @Test
+    void resolutionModeSelectsBranch() {
+        assertFalse(ShapedBlockResolution.shouldResolveInParallel(UnslabConfig.ResolutionMode.SERIAL, SLAB_COUNT));
+        assertTrue(ShapedBlockResolution.shouldResolveInParallel(UnslabConfig.ResolutionMode.PARALLEL, 1));
+        assertFalse(ShapedBlockResolution.shouldResolveInParallel(UnslabConfig.ResolutionMode.AUTO, 1));
+    }
+
+    private static String toFiller(SyntheticRegistry.Entry slab, int filler) {
+        return slab.namespace() + ":" + slab.path().substring(0, slab.path().length() - "_slab".length()) + "_filler" + filler;
+    }
+}
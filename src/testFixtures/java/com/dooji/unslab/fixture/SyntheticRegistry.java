@@ -0,0 +1,108 @@
+package com.dooji.unslab.fixture;
+
+import com.dooji.unslab.ShapedBlockResolution;
+import com.dooji.unslab.SlabResolver;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+public class SyntheticRegistry {
+    private static final String[] MATERIALS = {"stone", "brick", "tile", "plank", "shingle", "marble", "basalt", "slate"};
+    private static final int FILLER_BLOCKS_PER_SLAB = 4;
+
+    private final List<Entry> blocks = new ArrayList<>();
+    private final List<Entry> slabs = new ArrayList<>();
+    private final List<Entry> pluralizedSlabs = new ArrayList<>();
+
+    public static SyntheticRegistry generate(int namespaceCount, int slabCount, long seed) {
+        SyntheticRegistry registry = new SyntheticRegistry();
+        Random random = new Random(seed);
+
+        registry.blocks.add(new Entry("minecraft", "air"));
+
+        for (int i = 0; i < slabCount; i++) {
+            String namespace = "mod" + random.nextInt(namespaceCount);
+            String targetNamespace = random.nextInt(4) == 0 ? "mod" + random.nextInt(namespaceCount) : namespace;
+            String baseName = MATERIALS[random.nextInt(MATERIALS.length)] + "_variant" + i;
+
+            Entry slab = new Entry(namespace, baseName + "_slab");
+            registry.slabs.add(slab);
+            registry.blocks.add(slab);
+
+            switch (i % 4) {
+                case 0 -> registry.blocks.add(new Entry(targetNamespace, baseName));
+                case 1 -> {
+                    registry.blocks.add(new Entry(targetNamespace, baseName.replaceFirst("_", "s_")));
+                    registry.pluralizedSlabs.add(new Entry(namespace, baseName));
+                }
+                case 2 -> registry.blocks.add(new Entry(targetNamespace, baseName + "_block"));
+                default -> {
+                }
+            }
+
+            for (int j = 0; j < FILLER_BLOCKS_PER_SLAB; j++) {
+                registry.blocks.add(new Entry(namespace, baseName + "_filler" + j));
+            }
+        }
+
+        return registry;
+    }
+
+    public SlabResolver<String> buildResolver() {
+        SlabResolver<String> resolver = new SlabResolver<>();
+
+        for (Entry block : blocks) {
+            if (!block.path().equals("air")) {
+                resolver.add(block.namespace(), block.path(), block.id());
+            }
+        }
+
+        return resolver;
+    }
+
+    // Runs the same resolution pass as the game, with "namespace:path" strings standing in for blocks
+    public ShapedBlockResolution<String> buildResolution(Function<Identifier, Identifier> customMappings) {
+        Set<String> blockIds = new HashSet<>();
+        for (Entry block : blocks) {
+            blockIds.add(block.id());
+        }
+
+        return new ShapedBlockResolution<>(buildResolver(),
+                Identifier::of,
+                id -> blockIds.contains(id.toString()) ? id.toString() : null,
+                slabId -> "_slab",
+                customMappings);
+    }
+
+    public List<String> slabIds() {
+        List<String> slabIds = new ArrayList<>(slabs.size());
+        for (Entry slab : slabs) {
+            slabIds.add(slab.id());
+        }
+
+        return slabIds;
+    }
+
+    public List<Entry> blocks() {
+        return blocks;
+    }
+
+    public List<Entry> slabs() {
+        return slabs;
+    }
+
+    public List<Entry> pluralizedSlabs() {
+        return pluralizedSlabs;
+    }
+
+    public record Entry(String namespace, String path) {
+        public String id() {
+            return namespace + ":" + path;
+        }
+    }
+}